@@ -2,9 +2,13 @@ package launchserver;
 
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
 import java.nio.file.DirectoryStream;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
@@ -17,6 +21,8 @@ import java.security.interfaces.RSAPublicKey;
 import java.security.spec.InvalidKeySpecException;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -37,6 +43,7 @@ import launcher.helper.IOHelper;
 import launcher.helper.JVMHelper;
 import launcher.helper.LogHelper;
 import launcher.helper.SecurityHelper;
+import launcher.helper.SecurityHelper.DigestAlgorithm;
 import launcher.helper.VerifyHelper;
 import launcher.serialize.config.ConfigObject;
 import launcher.serialize.config.TextConfigReader;
@@ -56,6 +63,7 @@ import launchserver.binary.LauncherBinary;
 import launchserver.command.handler.CommandHandler;
 import launchserver.command.handler.JLineCommandHandler;
 import launchserver.command.handler.StdCommandHandler;
+import launchserver.manangers.CryptoManager;
 import launchserver.manangers.GarbageManager;
 import launchserver.manangers.ModulesManager;
 import launchserver.manangers.SessionManager;
@@ -87,6 +95,8 @@ public final class LaunchServer implements Runnable, AutoCloseable {
     public final RSAPrivateKey privateKey;
     @LauncherAPI
     public final boolean portable;
+    @LauncherAPI
+    public final CryptoManager cryptoManager;
 
     // Launcher binary
     @LauncherAPI
@@ -110,6 +120,8 @@ public final class LaunchServer implements Runnable, AutoCloseable {
 
     // Updates and profiles
     private volatile List<SignedObjectHolder<ClientProfile>> profilesList;
+    private volatile Map<String, List<SignedObjectHolder<ClientProfile>>> profilesByTitle = Collections.emptyMap();
+    private volatile Map<Path, CachedProfile> profilesCache = Collections.emptyMap();
     private volatile Map<String, SignedObjectHolder<HashedDir>> updatesDirMap;
 
     public LaunchServer(Path dir, boolean portable) throws IOException, InvalidKeySpecException {
@@ -173,6 +185,7 @@ public final class LaunchServer implements Runnable, AutoCloseable {
         CRC32 crc = new CRC32();
         crc.update(publicKey.getModulus().toByteArray());
         LogHelper.subInfo("Modulus CRC32: 0x%08x", crc.getValue());
+        cryptoManager = new CryptoManager(privateKey);
         
         // pre init modules
         modulesManager = new ModulesManager(this);
@@ -248,6 +261,7 @@ public final class LaunchServer implements Runnable, AutoCloseable {
             LogHelper.error(e);
         }
         modulesManager.close();
+        cryptoManager.close();
         // Print last message before death :(
         LogHelper.info("LaunchServer stopped");
     }
@@ -278,6 +292,12 @@ public final class LaunchServer implements Runnable, AutoCloseable {
         return profilesList;
     }
 
+    @LauncherAPI
+    public List<SignedObjectHolder<ClientProfile>> getProfilesByTitle(String title) {
+        List<SignedObjectHolder<ClientProfile>> profiles = profilesByTitle.get(title);
+        return profiles == null ? Collections.emptyList() : Collections.unmodifiableList(profiles);
+    }
+
     @LauncherAPI
     public SignedObjectHolder<HashedDir> getUpdateDir(String name) {
         return updatesDirMap.get(name);
@@ -313,11 +333,18 @@ public final class LaunchServer implements Runnable, AutoCloseable {
     public void syncProfilesDir() throws IOException {
         LogHelper.info("Syncing profiles dir");
         List<SignedObjectHolder<ClientProfile>> newProfies = new LinkedList<>();
-        IOHelper.walk(profilesDir, new ProfilesFileVisitor(newProfies), false);
+        Map<Path, CachedProfile> newProfilesCache = new HashMap<>(16);
+        IOHelper.walk(profilesDir, new ProfilesFileVisitor(newProfies, newProfilesCache), false);
 
         // Sort and set new profiles
         newProfies.sort(Comparator.comparing(a -> a.object));
+        Map<String, List<SignedObjectHolder<ClientProfile>>> newProfilesByTitle = new HashMap<>(newProfies.size() * 4 / 3 + 1);
+        for (SignedObjectHolder<ClientProfile> profile : newProfies) {
+            newProfilesByTitle.computeIfAbsent(profile.object.getTitle(), t -> new ArrayList<>(1)).add(profile);
+        }
         profilesList = Collections.unmodifiableList(newProfies);
+        profilesByTitle = newProfilesByTitle;
+        profilesCache = newProfilesCache;
     }
 
     @LauncherAPI
@@ -402,26 +429,65 @@ public final class LaunchServer implements Runnable, AutoCloseable {
         LogHelper.debug("LaunchServer started in %dms", Duration.between(start, end).toMillis());
     }
 
+    private static final class CachedProfile {
+        private final long size;
+        private final long modified;
+        private final byte[] digest;
+        private final SignedObjectHolder<ClientProfile> profile;
+
+        private CachedProfile(long size, long modified, byte[] digest, SignedObjectHolder<ClientProfile> profile) {
+            this.size = size;
+            this.modified = modified;
+            this.digest = digest;
+            this.profile = profile;
+        }
+    }
+
     private final class ProfilesFileVisitor extends SimpleFileVisitor<Path> {
         private final Collection<SignedObjectHolder<ClientProfile>> result;
+        private final Map<Path, CachedProfile> cache;
 
-        private ProfilesFileVisitor(Collection<SignedObjectHolder<ClientProfile>> result) {
+        private ProfilesFileVisitor(Collection<SignedObjectHolder<ClientProfile>> result, Map<Path, CachedProfile> cache) {
             this.result = result;
+            this.cache = cache;
         }
 
         @Override
         public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
-            LogHelper.subInfo("Syncing '%s' profile", IOHelper.getFileName(file));
+            // Reuse signed profile if file wasn't modified
+            long modified = attrs.lastModifiedTime().toMillis();
+            CachedProfile cached = profilesCache.get(file);
+            if (cached != null && cached.size == attrs.size() && cached.modified == modified) {
+                LogHelper.subDebug("Profile '%s' is not modified", IOHelper.getFileName(file));
+                cache.put(file, cached);
+                result.add(cached.profile);
+                return super.visitFile(file, attrs);
+            }
 
-            // Read profile
-            ClientProfile profile;
-            try (BufferedReader reader = IOHelper.newReader(file)) {
-                profile = new ClientProfile(TextConfigReader.read(reader, true));
+            // Read profile, and re-parse only if content changed
+            byte[] bytes = IOHelper.read(file);
+            byte[] digest = SecurityHelper.digest(DigestAlgorithm.MD5, bytes);
+            SignedObjectHolder<ClientProfile> signedProfile;
+            if (cached != null && Arrays.equals(cached.digest, digest)) {
+                LogHelper.subDebug("Profile '%s' is not modified (touched)", IOHelper.getFileName(file));
+                signedProfile = cached.profile;
+            } else {
+                LogHelper.subInfo("Syncing '%s' profile", IOHelper.getFileName(file));
+                ClientProfile profile;
+                // Strict decoding, same as Files.newBufferedReader() used before
+                CharsetDecoder decoder = IOHelper.UNICODE_CHARSET.newDecoder();
+                decoder.onMalformedInput(CodingErrorAction.REPORT);
+                decoder.onUnmappableCharacter(CodingErrorAction.REPORT);
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(bytes), decoder))) {
+                    profile = new ClientProfile(TextConfigReader.read(reader, true));
+                }
+                profile.verify();
+                signedProfile = new SignedObjectHolder<>(profile, privateKey);
             }
-            profile.verify();
 
             // Add SIGNED profile to result list
-            result.add(new SignedObjectHolder<>(profile, privateKey));
+            cache.put(file, new CachedProfile(bytes.length, modified, digest, signedProfile));
+            result.add(signedProfile);
             return super.visitFile(file, attrs);
         }
     }
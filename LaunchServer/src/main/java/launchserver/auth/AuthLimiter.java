@@ -1,6 +1,7 @@
 package launchserver.auth;
 
-import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import launcher.LauncherAPI;
 import launchserver.LaunchServer;
@@ -9,40 +10,40 @@ import launchserver.NeedGarbageCollection;
 public class AuthLimiter implements NeedGarbageCollection {
     public final int rateLimit;
     public final int rateLimitMilis;
-    private HashMap<String, AuthEntry> map;
+    private final Map<String, AuthEntry> map;
     @LauncherAPI
     public static final long TIMEOUT = 10 * 60 * 1000; //10 минут
 
     public AuthLimiter(LaunchServer srv) {
-        map = new HashMap<>();
+        map = new ConcurrentHashMap<>(16);
         rateLimit = srv.config.authRateLimit;
         rateLimitMilis = srv.config.authRateLimitMilis;
     }
 
     public boolean isLimit(String ip) {
-        if (map.containsKey(ip)) {
-            AuthEntry rate = map.get(ip);
+        // Entries are only mutated inside compute(), which is atomic per IP
+        boolean[] limited = new boolean[1];
+        map.compute(ip, (k, rate) -> {
             long currenttime = System.currentTimeMillis();
-            if (rate.ts + rateLimitMilis < currenttime) rate.value = 0;
-            if (rate.value >= rateLimit && rateLimit > 0) {
-                rate.value++;
-                rate.ts = currenttime;
-                return true;
+            if (rate == null) {
+                return new AuthEntry(1, currenttime);
             }
+            if (rate.ts + rateLimitMilis < currenttime) rate.value = 0;
+            limited[0] = rate.value >= rateLimit && rateLimit > 0;
             rate.value++;
             rate.ts = currenttime;
-            return false;
-        } else {
-            map.put(ip, new AuthEntry(1, System.currentTimeMillis()));
-            return false;
-        }
+            return rate;
+        });
+        return limited[0];
     }
 
     @Override
     public void garbageCollection() {
         long time = System.currentTimeMillis();
         long max_timeout = Math.max(rateLimitMilis, TIMEOUT);
-        map.entrySet().removeIf(e -> e.getValue().ts + max_timeout < time);
+        for (String ip : map.keySet()) {
+            map.computeIfPresent(ip, (k, rate) -> rate.ts + max_timeout < time ? null : rate);
+        }
     }
 
     static class AuthEntry {
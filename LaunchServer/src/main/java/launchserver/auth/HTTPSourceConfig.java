@@ -0,0 +1,163 @@
+package launchserver.auth;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.eclipsesource.json.Json;
+import com.eclipsesource.json.JsonObject;
+import com.eclipsesource.json.JsonValue;
+import com.eclipsesource.json.WriterConfig;
+import launcher.LauncherAPI;
+import launcher.helper.CommonHelper;
+import launcher.helper.IOHelper;
+import launcher.helper.VerifyHelper;
+import launcher.serialize.config.ConfigObject;
+import launcher.serialize.config.entry.BlockConfigEntry;
+import launcher.serialize.config.entry.IntegerConfigEntry;
+import launchserver.manangers.StatsManager;
+
+public final class HTTPSourceConfig extends ConfigObject {
+    private static final int THREADS = VerifyHelper.verifyInt(
+            Integer.parseUnsignedInt(System.getProperty("launcher.http.threads", Integer.toString(16))),
+            VerifyHelper.POSITIVE, "launcher.http.threads can't be <= 0");
+    private static final int QUEUE_SIZE = VerifyHelper.verifyInt(
+            Integer.parseUnsignedInt(System.getProperty("launcher.http.queueSize", Integer.toString(256))),
+            VerifyHelper.POSITIVE, "launcher.http.queueSize can't be <= 0");
+    private static final ThreadPoolExecutor HTTP_EXECUTOR = new ThreadPoolExecutor(THREADS, THREADS, 60L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(QUEUE_SIZE), r -> CommonHelper.newThread("HTTP Thread", true, r));
+
+    // Instance
+    private final String poolName;
+    private final StatsManager.Histogram latency;
+
+    // Config
+    private final int connectTimeout;
+    private final int readTimeout;
+
+    @LauncherAPI
+    public HTTPSourceConfig(String poolName, BlockConfigEntry block) {
+        super(block);
+        this.poolName = poolName;
+        latency = StatsManager.histogram("http." + poolName);
+        connectTimeout = block.hasEntry("connectTimeout") ? VerifyHelper.verifyInt(block.getEntryValue("connectTimeout", IntegerConfigEntry.class),
+                VerifyHelper.NOT_NEGATIVE, "Illegal HTTP connect timeout") : IOHelper.HTTP_TIMEOUT;
+        readTimeout = block.hasEntry("readTimeout") ? VerifyHelper.verifyInt(block.getEntryValue("readTimeout", IntegerConfigEntry.class),
+                VerifyHelper.NOT_NEGATIVE, "Illegal HTTP read timeout") : IOHelper.HTTP_TIMEOUT;
+    }
+
+    @LauncherAPI
+    public String getPoolName() {
+        return poolName;
+    }
+
+    @LauncherAPI
+    public JsonValue jsonRequest(URL url, JsonObject request) throws IOException {
+        long start = System.nanoTime();
+        HttpURLConnection connection = newConnection(url);
+        connection.setDoOutput(true);
+        connection.setRequestMethod("POST");
+        connection.setRequestProperty("Content-Type", "application/json; charset=UTF-8");
+        connection.setRequestProperty("Accept", "application/json");
+        try (OutputStream output = connection.getOutputStream()) {
+            output.write(IOHelper.encode(request.toString(WriterConfig.MINIMAL)));
+        }
+
+        // Read and parse response
+        try {
+            String response = readResponse(connection);
+            return response.isEmpty() ? null : Json.parse(response);
+        } finally {
+            latency.record(System.nanoTime() - start);
+        }
+    }
+
+    @LauncherAPI
+    public CompletableFuture<JsonValue> jsonRequestAsync(URL url, JsonObject request) {
+        return submit(() -> jsonRequest(url, request));
+    }
+
+    @LauncherAPI
+    public String request(URL url) throws IOException {
+        long start = System.nanoTime();
+        HttpURLConnection connection = newConnection(url);
+        try {
+            int statusCode = connection.getResponseCode();
+            if (statusCode < 200 || statusCode >= 300) {
+                discard(connection.getErrorStream());
+                throw new IOException(String.format("HTTP %d from '%s'", statusCode, url));
+            }
+            return readResponse(connection).trim();
+        } finally {
+            latency.record(System.nanoTime() - start);
+        }
+    }
+
+    @LauncherAPI
+    public CompletableFuture<String> requestAsync(URL url) {
+        return submit(() -> request(url));
+    }
+
+    private HttpURLConnection newConnection(URL url) throws IOException {
+        // Keep IOHelper defaults (User-Agent etc.), pooling is JDK keep-alive cache (-Dhttp.maxConnections)
+        HttpURLConnection connection = (HttpURLConnection) IOHelper.newConnection(url);
+        connection.setConnectTimeout(connectTimeout);
+        connection.setReadTimeout(readTimeout);
+        connection.setUseCaches(false);
+        return connection;
+    }
+
+    private static <T> CompletableFuture<T> submit(HTTPCall<T> call) {
+        // Completed on HTTP thread; fails with RejectedExecutionException if queue is full
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            HTTP_EXECUTOR.execute(() -> {
+                try {
+                    future.complete(call.call());
+                } catch (Throwable exc) {
+                    future.completeExceptionally(exc);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private static String readResponse(HttpURLConnection connection) throws IOException {
+        int statusCode = connection.getResponseCode(); // Actually make request
+        InputStream input = statusCode >= 400 ? connection.getErrorStream() : connection.getInputStream();
+        if (input == null) {
+            return "";
+        }
+
+        // Fully read and close stream, so connection is returned to keep-alive cache
+        try (InputStream responseInput = input) {
+            return IOHelper.decode(IOHelper.read(responseInput));
+        }
+    }
+
+    private static void discard(InputStream input) throws IOException {
+        if (input != null) {
+            try (InputStream errorInput = input) {
+                IOHelper.read(errorInput);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface HTTPCall<T> {
+        T call() throws IOException;
+    }
+
+    static {
+        HTTP_EXECUTOR.allowCoreThreadTimeOut(true);
+    }
+}
@@ -1,6 +1,8 @@
 package launchserver.auth.handler;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
@@ -40,6 +42,26 @@ public abstract class AuthHandler extends ConfigObject implements AutoCloseable
     @LauncherAPI
     public abstract String uuidToUsername(UUID uuid) throws IOException;
 
+    @LauncherAPI
+    public Map<String, UUID> usernamesToUUIDs(Collection<String> usernames) throws IOException {
+        // Bulk lookup hook, override to resolve all usernames at once
+        Map<String, UUID> result = new HashMap<>(usernames.size());
+        for (String username : usernames) {
+            result.put(username, usernameToUUID(username));
+        }
+        return result;
+    }
+
+    @LauncherAPI
+    public Map<UUID, String> uuidsToUsernames(Collection<UUID> uuids) throws IOException {
+        // Bulk lookup hook, override to resolve all UUIDs at once
+        Map<UUID, String> result = new HashMap<>(uuids.size());
+        for (UUID uuid : uuids) {
+            result.put(uuid, uuidToUsername(uuid));
+        }
+        return result;
+    }
+
     @LauncherAPI
     public static UUID authError(String message) throws AuthException {
         throw new AuthException(message);
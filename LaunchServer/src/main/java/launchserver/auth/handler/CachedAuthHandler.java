@@ -1,7 +1,10 @@
 package launchserver.auth.handler;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
@@ -68,12 +71,85 @@ public abstract class CachedAuthHandler extends AuthHandler {
         return entry == null ? null : entry.username;
     }
 
+    @Override
+    public final synchronized Map<String, UUID> usernamesToUUIDs(Collection<String> usernames) throws IOException {
+        List<String> missing = new ArrayList<>(usernames.size());
+        for (String username : usernames) {
+            if (!usernamesCache.containsKey(CommonHelper.low(username))) {
+                missing.add(username);
+            }
+        }
+
+        // Fetch all missing entries at once
+        if (!missing.isEmpty()) {
+            for (Entry entry : fetchEntries(missing.toArray(new String[0]))) {
+                addEntry(entry);
+            }
+        }
+
+        // Collect result
+        Map<String, UUID> result = new HashMap<>(usernames.size());
+        for (String username : usernames) {
+            result.put(username, usernamesCache.get(CommonHelper.low(username)));
+        }
+        return result;
+    }
+
+    @Override
+    public final synchronized Map<UUID, String> uuidsToUsernames(Collection<UUID> uuids) throws IOException {
+        List<UUID> missing = new ArrayList<>(uuids.size());
+        for (UUID uuid : uuids) {
+            if (!entryCache.containsKey(uuid)) {
+                missing.add(uuid);
+            }
+        }
+
+        // Fetch all missing entries at once
+        if (!missing.isEmpty()) {
+            for (Entry entry : fetchEntries(missing.toArray(new UUID[0]))) {
+                addEntry(entry);
+            }
+        }
+
+        // Collect result
+        Map<UUID, String> result = new HashMap<>(uuids.size());
+        for (UUID uuid : uuids) {
+            Entry entry = entryCache.get(uuid);
+            result.put(uuid, entry == null ? null : entry.username);
+        }
+        return result;
+    }
+
     @LauncherAPI
     protected abstract Entry fetchEntry(UUID uuid) throws IOException;
 
     @LauncherAPI
     protected abstract Entry fetchEntry(String username) throws IOException;
 
+    @LauncherAPI
+    protected Collection<Entry> fetchEntries(UUID[] uuids) throws IOException {
+        List<Entry> entries = new ArrayList<>(uuids.length);
+        for (UUID uuid : uuids) {
+            Entry entry = fetchEntry(uuid);
+            if (entry != null) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    @LauncherAPI
+    protected Collection<Entry> fetchEntries(String[] usernames) throws IOException {
+        List<Entry> entries = new ArrayList<>(usernames.length);
+        for (String username : usernames) {
+            Entry entry = fetchEntry(username);
+            if (entry != null) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
     @LauncherAPI
     protected abstract boolean updateAuth(UUID uuid, String username, String accessToken) throws IOException;
 
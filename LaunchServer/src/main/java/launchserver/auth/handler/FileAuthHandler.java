@@ -3,6 +3,7 @@ package launchserver.auth.handler;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.security.SecureRandom;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -143,6 +144,35 @@ public abstract class FileAuthHandler extends AuthHandler {
         }
     }
 
+    @Override
+    public final Map<String, UUID> usernamesToUUIDs(Collection<String> usernames) {
+        Map<String, UUID> result = new HashMap<>(usernames.size());
+        lock.readLock().lock();
+        try {
+            for (String username : usernames) {
+                result.put(username, usernamesMap.get(CommonHelper.low(username)));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    @Override
+    public final Map<UUID, String> uuidsToUsernames(Collection<UUID> uuids) {
+        Map<UUID, String> result = new HashMap<>(uuids.size());
+        lock.readLock().lock();
+        try {
+            for (UUID uuid : uuids) {
+                Entry entry = entryMap.get(uuid);
+                result.put(uuid, entry == null ? null : entry.username);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
     @LauncherAPI
     protected abstract void readAuthFile() throws IOException;
 
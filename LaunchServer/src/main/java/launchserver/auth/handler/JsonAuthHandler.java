@@ -7,20 +7,16 @@ import launcher.helper.IOHelper;
 import launcher.helper.VerifyHelper;
 import launcher.serialize.config.entry.BlockConfigEntry;
 import launcher.serialize.config.entry.StringConfigEntry;
+import launchserver.auth.HTTPSourceConfig;
 
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
-import java.net.HttpURLConnection;
 import java.net.URL;
-import java.nio.charset.Charset;
-import java.nio.charset.StandardCharsets;
 import java.util.UUID;
 
 @SuppressWarnings("unused")
 public class JsonAuthHandler extends CachedAuthHandler {
 
-    private static final int TIMEOUT = 10;
+    private final HTTPSourceConfig http;
     private final URL url;
     private final URL urlCheckServer;
     private final URL urlJoinServer;
@@ -35,6 +31,7 @@ public class JsonAuthHandler extends CachedAuthHandler {
 
     protected JsonAuthHandler(BlockConfigEntry block) {
         super(block);
+        http = new HTTPSourceConfig("authHandler", block);
         String configUrl = block.getEntryValue("url", StringConfigEntry.class);
         String configUrlCheckServer = block.getEntryValue("urlCheckServer", StringConfigEntry.class);
         String configUrlJoinServer = block.getEntryValue("urlJoinServer", StringConfigEntry.class);
@@ -65,31 +62,8 @@ public class JsonAuthHandler extends CachedAuthHandler {
     }
 
     public JsonObject jsonRequest(JsonObject request, URL url) throws IOException {
-        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-        connection.setDoInput(true);
-        connection.setDoOutput(true);
-        connection.setRequestMethod("POST");
-        connection.setRequestProperty("Content-Type", "application/json; charset=UTF-8");
-        connection.setRequestProperty("Accept", "application/json");
-        if (TIMEOUT > 0) {
-            connection.setConnectTimeout(TIMEOUT);
-        }
-
-        OutputStreamWriter writer = new OutputStreamWriter(connection.getOutputStream(), Charset.forName("UTF-8"));
-        writer.write(request.toString());
-        writer.flush();
-        writer.close();
-
-        InputStreamReader reader;
-        int statusCode = connection.getResponseCode();
-
-        if (200 <= statusCode && statusCode < 300) {
-            reader = new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8);
-        } else {
-            reader = new InputStreamReader(connection.getErrorStream(), StandardCharsets.UTF_8);
-        }
-        JsonValue content = Json.parse(reader);
-        if (!content.isObject()) {
+        JsonValue content = http.jsonRequest(url, request);
+        if (content == null || !content.isObject()) {
             authError("Authentication server response is malformed");
         }
 
@@ -5,6 +5,10 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 
 import launcher.helper.VerifyHelper;
@@ -22,6 +26,8 @@ public final class MySQLAuthHandler extends CachedAuthHandler {
     // Prepared SQL queries
     private final String queryByUUIDSQL;
     private final String queryByUsernameSQL;
+    private final String queryByUUIDsSQL;
+    private final String queryByUsernamesSQL;
     private final String updateAuthSQL;
     private final String updateServerIDSQL;
 
@@ -46,6 +52,10 @@ public final class MySQLAuthHandler extends CachedAuthHandler {
                 uuidColumn, usernameColumn, accessTokenColumn, serverIDColumn, table, uuidColumn);
         queryByUsernameSQL = String.format("SELECT %s, %s, %s, %s FROM %s WHERE %s=? LIMIT 1",
                 uuidColumn, usernameColumn, accessTokenColumn, serverIDColumn, table, usernameColumn);
+        queryByUUIDsSQL = String.format("SELECT %s, %s, %s, %s FROM %s WHERE %s IN (%%s)",
+                uuidColumn, usernameColumn, accessTokenColumn, serverIDColumn, table, uuidColumn);
+        queryByUsernamesSQL = String.format("SELECT %s, %s, %s, %s FROM %s WHERE %s IN (%%s)",
+                uuidColumn, usernameColumn, accessTokenColumn, serverIDColumn, table, usernameColumn);
         updateAuthSQL = String.format("UPDATE %s SET %s=?, %s=?, %s=NULL WHERE %s=? LIMIT 1",
                 table, usernameColumn, accessTokenColumn, serverIDColumn, uuidColumn);
         updateServerIDSQL = String.format("UPDATE %s SET %s=? WHERE %s=? LIMIT 1",
@@ -67,6 +77,20 @@ public final class MySQLAuthHandler extends CachedAuthHandler {
         return query(queryByUUIDSQL, uuid.toString());
     }
 
+    @Override
+    protected Collection<Entry> fetchEntries(String[] usernames) throws IOException {
+        return queryAll(queryByUsernamesSQL, usernames);
+    }
+
+    @Override
+    protected Collection<Entry> fetchEntries(UUID[] uuids) throws IOException {
+        String[] values = new String[uuids.length];
+        for (int i = 0; i < uuids.length; i++) {
+            values[i] = uuids[i].toString();
+        }
+        return queryAll(queryByUUIDsSQL, values);
+    }
+
     @Override
     protected boolean updateAuth(UUID uuid, String username, String accessToken) throws IOException {
         try {
@@ -120,4 +144,34 @@ public final class MySQLAuthHandler extends CachedAuthHandler {
             throw new IOException(e);
         }
     }
+
+    private Collection<Entry> queryAll(String sql, String[] values) throws IOException {
+        if (values.length == 0) {
+            return Collections.emptyList();
+        }
+
+        // Build IN-list placeholders
+        StringBuilder placeholders = new StringBuilder(values.length * 2);
+        for (int i = 0; i < values.length; i++) {
+            placeholders.append(i == 0 ? "?" : ",?");
+        }
+
+        // Execute single query for all values
+        try (Connection c = mySQLHolder.getConnection();
+             PreparedStatement s = c.prepareStatement(String.format(sql, placeholders))) {
+            for (int i = 0; i < values.length; i++) {
+                s.setString(i + 1, values[i]);
+            }
+            s.setQueryTimeout(MySQLSourceConfig.TIMEOUT);
+            try (ResultSet set = s.executeQuery()) {
+                List<Entry> entries = new ArrayList<>(values.length);
+                for (Entry entry = constructEntry(set); entry != null; entry = constructEntry(set)) {
+                    entries.add(entry);
+                }
+                return entries;
+            }
+        } catch (SQLException e) {
+            throw new IOException(e);
+        }
+    }
 }
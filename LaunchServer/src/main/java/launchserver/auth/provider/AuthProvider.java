@@ -3,6 +3,7 @@ package launchserver.auth.provider;
 import java.io.IOException;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 
 import launcher.LauncherAPI;
@@ -26,6 +27,18 @@ public abstract class AuthProvider extends ConfigObject implements AutoCloseable
     @LauncherAPI
     public abstract AuthProviderResult auth(String login, String password, String ip) throws Exception;
 
+    @LauncherAPI
+    public CompletableFuture<AuthProviderResult> authAsync(String login, String password, String ip) {
+        // Adapter for blocking providers: completes on caller thread, without extra thread hop
+        CompletableFuture<AuthProviderResult> future = new CompletableFuture<>();
+        try {
+            future.complete(auth(login, password, ip));
+        } catch (Throwable exc) {
+            future.completeExceptionally(exc);
+        }
+        return future;
+    }
+
     @LauncherAPI
     public static AuthProviderResult authError(String message) throws AuthException {
         throw new AuthException(message);
@@ -50,6 +63,7 @@ public abstract class AuthProvider extends ConfigObject implements AutoCloseable
             registerProvider("null", NullAuthProvider::new);
             registerProvider("accept", AcceptAuthProvider::new);
             registerProvider("reject", RejectAuthProvider::new);
+            registerProvider("cached", CachedAuthProvider::new);
 
             // Auth providers that doesn't do nothing :D
             registerProvider("mojang", MojangAuthProvider::new);
@@ -0,0 +1,178 @@
+package launchserver.auth.provider;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import launcher.LauncherAPI;
+import launcher.helper.IOHelper;
+import launcher.helper.SecurityHelper;
+import launcher.helper.SecurityHelper.DigestAlgorithm;
+import launcher.helper.VerifyHelper;
+import launcher.serialize.config.entry.BlockConfigEntry;
+import launcher.serialize.config.entry.IntegerConfigEntry;
+import launcher.serialize.config.entry.StringConfigEntry;
+import launchserver.NeedGarbageCollection;
+import launchserver.auth.AuthException;
+import launchserver.manangers.GarbageManager;
+
+public final class CachedAuthProvider extends AuthProvider implements NeedGarbageCollection {
+    private final AuthProvider provider;
+    private final byte[] salt = SecurityHelper.randomBytes(SecurityHelper.TOKEN_LENGTH);
+    private final Map<String, Entry> cache; // Access-ordered, guarded by itself
+
+    // Config
+    private final long failureTTL;
+    private final long successTTL;
+    private final int maxEntries;
+
+    public CachedAuthProvider(BlockConfigEntry block) {
+        super(block);
+        provider = newProvider(block.getEntryValue("provider", StringConfigEntry.class),
+                block.getEntry("providerConfig", BlockConfigEntry.class));
+        failureTTL = block.hasEntry("failureTTL") ? VerifyHelper.verifyInt(block.getEntryValue("failureTTL", IntegerConfigEntry.class),
+                VerifyHelper.NOT_NEGATIVE, "Illegal failureTTL") : 10000;
+        successTTL = block.hasEntry("successTTL") ? VerifyHelper.verifyInt(block.getEntryValue("successTTL", IntegerConfigEntry.class),
+                VerifyHelper.NOT_NEGATIVE, "Illegal successTTL") : 0;
+        maxEntries = block.hasEntry("maxEntries") ? VerifyHelper.verifyInt(block.getEntryValue("maxEntries", IntegerConfigEntry.class),
+                VerifyHelper.POSITIVE, "Illegal maxEntries") : 4096;
+
+        // Evict least recently used entry when full (expired ones are swept by GC)
+        cache = new LinkedHashMap<String, Entry>(256, 0.75F, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedAuthProvider.Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        GarbageManager.registerNeedGC(this);
+    }
+
+    @Override
+    public AuthProviderResult auth(String login, String password, String ip) throws Exception {
+        String key = getKey(login, password);
+        long now = System.currentTimeMillis();
+        Entry entry = get(key, now);
+        if (entry != null) {
+            return getResult(entry);
+        }
+
+        // Ask backend provider
+        AuthProviderResult result;
+        try {
+            result = provider.auth(login, password, ip);
+        } catch (AuthException e) {
+            putError(key, e, now);
+            throw e;
+        }
+        putResult(key, result, now);
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<AuthProviderResult> authAsync(String login, String password, String ip) {
+        String key = getKey(login, password);
+        long now = System.currentTimeMillis();
+        Entry entry = get(key, now);
+        if (entry != null) {
+            CompletableFuture<AuthProviderResult> future = new CompletableFuture<>();
+            try {
+                future.complete(getResult(entry));
+            } catch (AuthException e) {
+                future.completeExceptionally(e);
+            }
+            return future;
+        }
+
+        // Ask backend provider, without waiting for it
+        return provider.authAsync(login, password, ip).whenComplete((result, exc) -> {
+            Throwable cause = exc instanceof CompletionException ? exc.getCause() : exc;
+            if (cause == null) {
+                putResult(key, result, now);
+            } else if (cause instanceof AuthException) {
+                putError(key, (AuthException) cause, now);
+            }
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        GarbageManager.unregisterNeedGC(this);
+        invalidate();
+        provider.close();
+    }
+
+    @Override
+    public void garbageCollection() {
+        long now = System.currentTimeMillis();
+        synchronized (cache) {
+            cache.values().removeIf(e -> e.expire < now);
+        }
+    }
+
+    @LauncherAPI
+    public void invalidate() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    private Entry get(String key, long now) {
+        synchronized (cache) {
+            Entry entry = cache.get(key);
+            if (entry != null && entry.expire < now) {
+                cache.remove(key);
+                return null;
+            }
+            return entry;
+        }
+    }
+
+    private AuthProviderResult getResult(Entry entry) throws AuthException {
+        // Only credentials check is cached, token is fresh for each login
+        return entry.username != null ? new AuthProviderResult(entry.username, SecurityHelper.randomStringToken()) : authError(entry.error);
+    }
+
+    private String getKey(String login, String password) {
+        MessageDigest digest = SecurityHelper.newDigest(DigestAlgorithm.SHA256);
+        digest.update(salt);
+        digest.update(IOHelper.encode(login));
+        digest.update((byte) 0);
+        digest.update(IOHelper.encode(password));
+        return SecurityHelper.toHex(digest.digest());
+    }
+
+    private void put(String key, Entry entry) {
+        synchronized (cache) {
+            cache.put(key, entry);
+        }
+    }
+
+    private void putError(String key, AuthException e, long now) {
+        if (failureTTL > 0) {
+            put(key, new Entry(null, e.getMessage(), now + failureTTL));
+        }
+    }
+
+    private void putResult(String key, AuthProviderResult result, long now) {
+        if (successTTL > 0 && result.getClass() == AuthProviderResult.class) { // Can't mint tokens of external services (Mojang)
+            put(key, new Entry(result.username, null, now + successTTL));
+        }
+    }
+
+    private static final class Entry {
+        private final String username;
+        private final String error;
+        private final long expire;
+
+        private Entry(String username, String error, long expire) {
+            this.username = username;
+            this.error = error;
+            this.expire = expire;
+        }
+    }
+}
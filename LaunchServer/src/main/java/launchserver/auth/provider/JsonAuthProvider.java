@@ -8,19 +8,16 @@ import launcher.helper.SecurityHelper;
 import launcher.helper.VerifyHelper;
 import launcher.serialize.config.entry.BlockConfigEntry;
 import launcher.serialize.config.entry.StringConfigEntry;
+import launchserver.auth.AuthException;
+import launchserver.auth.HTTPSourceConfig;
 
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
-import java.net.HttpURLConnection;
 import java.net.URL;
-import java.nio.charset.Charset;
-import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public final class JsonAuthProvider extends AuthProvider {
-    private static final int TIMEOUT = Integer.parseInt(
-            System.getProperty("launcher.connection.timeout", Integer.toString(1500)));
-
+    private final HTTPSourceConfig http;
     private final URL url;
     private final String userKeyName;
     private final String passKeyName;
@@ -30,6 +27,7 @@ public final class JsonAuthProvider extends AuthProvider {
 
     JsonAuthProvider(BlockConfigEntry block) {
         super(block);
+        http = new HTTPSourceConfig("authProvider.json", block);
         String configUrl = block.getEntryValue("url", StringConfigEntry.class);
         userKeyName = VerifyHelper.verify(block.getEntryValue("userKeyName", StringConfigEntry.class),
                 VerifyHelper.NOT_EMPTY, "Username key name can't be empty");
@@ -46,32 +44,31 @@ public final class JsonAuthProvider extends AuthProvider {
 
     @Override
     public AuthProviderResult auth(String login, String password, String ip) throws IOException {
-        JsonObject request = Json.object().add(userKeyName, login).add(passKeyName, password).add(ipKeyName, ip);
-        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-        connection.setDoInput(true);
-        connection.setDoOutput(true);
-        connection.setRequestMethod("POST");
-        connection.setRequestProperty("Content-Type", "application/json; charset=UTF-8");
-        connection.setRequestProperty("Accept", "application/json");
-        if (TIMEOUT > 0) {
-            connection.setConnectTimeout(TIMEOUT);
-        }
+        return getResult(http.jsonRequest(url, newRequest(login, password, ip)));
+    }
 
-        OutputStreamWriter writer = new OutputStreamWriter(connection.getOutputStream(), Charset.forName("UTF-8"));
-        writer.write(request.toString());
-        writer.flush();
-        writer.close();
+    @Override
+    public CompletableFuture<AuthProviderResult> authAsync(String login, String password, String ip) {
+        return http.jsonRequestAsync(url, newRequest(login, password, ip)).thenApply(content -> {
+            try {
+                return getResult(content);
+            } catch (AuthException e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        // pass
+    }
 
-        InputStreamReader reader;
-        int statusCode = connection.getResponseCode();
+    private JsonObject newRequest(String login, String password, String ip) {
+        return Json.object().add(userKeyName, login).add(passKeyName, password).add(ipKeyName, ip);
+    }
 
-        if (200 <= statusCode && statusCode < 300) {
-            reader = new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8);
-        } else {
-            reader = new InputStreamReader(connection.getErrorStream(), StandardCharsets.UTF_8);
-        }
-        JsonValue content = Json.parse(reader);
-        if (!content.isObject()) {
+    private AuthProviderResult getResult(JsonValue content) throws AuthException {
+        if (content == null || !content.isObject()) {
             return authError("Authentication server response is malformed");
         }
 
@@ -86,9 +83,4 @@ public final class JsonAuthProvider extends AuthProvider {
             return authError("Authentication server response is malformed");
         }
     }
-
-    @Override
-    public void close() {
-        // pass
-    }
 }
@@ -1,26 +1,24 @@
 package launchserver.auth.provider;
 
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
-import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.nio.charset.Charset;
-import java.nio.charset.StandardCharsets;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.regex.Pattern;
 
 import com.eclipsesource.json.Json;
 import com.eclipsesource.json.JsonObject;
 import com.eclipsesource.json.JsonValue;
-import com.eclipsesource.json.WriterConfig;
-import launcher.helper.IOHelper;
 import launcher.serialize.config.entry.BlockConfigEntry;
+import launchserver.auth.AuthException;
+import launchserver.auth.HTTPSourceConfig;
 
 public final class MojangAuthProvider extends AuthProvider {
     private static final Pattern UUID_REGEX = Pattern.compile("(\\w{8})(\\w{4})(\\w{4})(\\w{4})(\\w{12})");
     private static final URL URL;
+    private static final HTTPSourceConfig HTTP = new HTTPSourceConfig("mojang", new BlockConfigEntry(0));
 
     public MojangAuthProvider(BlockConfigEntry block) {
         super(block);
@@ -28,12 +26,38 @@ public final class MojangAuthProvider extends AuthProvider {
 
     @Override
     public AuthProviderResult auth(String login, String password, String ip) throws Exception {
-        JsonObject request = Json.object().
+        return getResult(makeJSONRequest(URL, newRequest(login, password)));
+    }
+
+    @Override
+    public CompletableFuture<AuthProviderResult> authAsync(String login, String password, String ip) {
+        return HTTP.jsonRequestAsync(URL, newRequest(login, password)).thenApply(response -> {
+            try {
+                return getResult(response == null ? null : response.asObject());
+            } catch (AuthException e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        // Do nothing
+    }
+
+    public static JsonObject makeJSONRequest(URL url, JsonObject request) throws IOException {
+        JsonValue response = HTTP.jsonRequest(url, request);
+        return response == null ? null : response.asObject();
+    }
+
+    private static JsonObject newRequest(String login, String password) {
+        return Json.object().
                 add("agent", Json.object().add("name", "Minecraft").add("version", 1)).
                 add("username", login).add("password", password);
+    }
 
+    private static AuthProviderResult getResult(JsonObject response) throws AuthException {
         // Verify there's no error
-        JsonObject response = makeJSONRequest(URL, request);
         if (response == null) {
             authError("Empty mojang response");
         }
@@ -53,33 +77,6 @@ public final class MojangAuthProvider extends AuthProvider {
         return new MojangAuthProviderResult(username, accessToken, uuid, launcherToken);
     }
 
-    @Override
-    public void close() {
-        // Do nothing
-    }
-
-    public static JsonObject makeJSONRequest(URL url, JsonObject request) throws IOException {
-        // Make authentication request
-        HttpURLConnection connection = IOHelper.newConnectionPost(url);
-        connection.setRequestProperty("Content-Type", "application/json");
-        try (OutputStream output = connection.getOutputStream()) {
-            output.write(request.toString(WriterConfig.MINIMAL).getBytes(StandardCharsets.UTF_8));
-        }
-        connection.getResponseCode(); // Actually make request
-
-        // Read response
-        InputStream errorInput = connection.getErrorStream();
-        try (InputStream input = errorInput == null ? connection.getInputStream() : errorInput) {
-            String charset = connection.getContentEncoding();
-            Charset charsetObject = charset == null ?
-                    IOHelper.UNICODE_CHARSET : Charset.forName(charset);
-
-            // Parse response
-            String json = new String(IOHelper.read(input), charsetObject);
-            return json.isEmpty() ? null : Json.parse(json).asObject();
-        }
-    }
-
     static {
         try {
             URL = new URL("https://authserver.mojang.com/authenticate");
@@ -2,6 +2,7 @@ package launchserver.auth.provider;
 
 import java.io.IOException;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 import launcher.LauncherAPI;
 import launcher.helper.VerifyHelper;
@@ -19,6 +20,11 @@ public final class NullAuthProvider extends AuthProvider {
         return getProvider().auth(login, password, ip);
     }
 
+    @Override
+    public CompletableFuture<AuthProviderResult> authAsync(String login, String password, String ip) {
+        return getProvider().authAsync(login, password, ip);
+    }
+
     @Override
     public void close() throws IOException {
         AuthProvider provider = this.provider;
@@ -1,7 +1,10 @@
 package launchserver.auth.provider;
 
 import java.io.IOException;
+import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -10,13 +13,17 @@ import launcher.helper.IOHelper;
 import launcher.helper.SecurityHelper;
 import launcher.serialize.config.entry.BlockConfigEntry;
 import launcher.serialize.config.entry.StringConfigEntry;
+import launchserver.auth.AuthException;
+import launchserver.auth.HTTPSourceConfig;
 
 public final class RequestAuthProvider extends AuthProvider {
+    private final HTTPSourceConfig http;
     private final String url;
     private final Pattern response;
 
     public RequestAuthProvider(BlockConfigEntry block) {
         super(block);
+        http = new HTTPSourceConfig("authProvider.request", block);
         url = block.getEntryValue("url", StringConfigEntry.class);
         response = Pattern.compile(block.getEntryValue("response", StringConfigEntry.class));
 
@@ -26,13 +33,26 @@ public final class RequestAuthProvider extends AuthProvider {
 
     @Override
     public AuthProviderResult auth(String login, String password, String ip) throws IOException {
-        String currentResponse = IOHelper.request(new URL(getFormattedURL(login, password, ip)));
+        return getResult(http.request(new URL(getFormattedURL(login, password, ip))));
+    }
 
-        // Match username
-        Matcher matcher = response.matcher(currentResponse);
-        return matcher.matches() && matcher.groupCount() >= 1 ?
-                new AuthProviderResult(matcher.group("username"), SecurityHelper.randomStringToken()) :
-                authError(currentResponse);
+    @Override
+    public CompletableFuture<AuthProviderResult> authAsync(String login, String password, String ip) {
+        URL currentURL;
+        try {
+            currentURL = new URL(getFormattedURL(login, password, ip));
+        } catch (MalformedURLException e) {
+            CompletableFuture<AuthProviderResult> future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+            return future;
+        }
+        return http.requestAsync(currentURL).thenApply(currentResponse -> {
+            try {
+                return getResult(currentResponse);
+            } catch (AuthException e) {
+                throw new CompletionException(e);
+            }
+        });
     }
 
     @Override
@@ -40,6 +60,14 @@ public final class RequestAuthProvider extends AuthProvider {
         // Do nothing
     }
 
+    private AuthProviderResult getResult(String currentResponse) throws AuthException {
+        // Match username
+        Matcher matcher = response.matcher(currentResponse);
+        return matcher.matches() && matcher.groupCount() >= 1 ?
+                new AuthProviderResult(matcher.group("username"), SecurityHelper.randomStringToken()) :
+                authError(currentResponse);
+    }
+
     private String getFormattedURL(String login, String password, String ip) {
         return CommonHelper.replace(url, "login", IOHelper.urlEncode(login), "password", IOHelper.urlEncode(password), "ip", IOHelper.urlEncode(ip));
     }
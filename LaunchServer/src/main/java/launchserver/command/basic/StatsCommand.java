@@ -0,0 +1,26 @@
+package launchserver.command.basic;
+
+import launchserver.LaunchServer;
+import launchserver.command.Command;
+import launchserver.manangers.StatsManager;
+
+public final class StatsCommand extends Command {
+    public StatsCommand(LaunchServer server) {
+        super(server);
+    }
+
+    @Override
+    public String getArgsDescription() {
+        return null;
+    }
+
+    @Override
+    public String getUsageDescription() {
+        return "Print backend latency histograms and pool metrics";
+    }
+
+    @Override
+    public void invoke(String... args) {
+        StatsManager.printStats();
+    }
+}
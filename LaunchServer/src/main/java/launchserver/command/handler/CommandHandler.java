@@ -25,6 +25,7 @@ import launchserver.command.basic.GCCommand;
 import launchserver.command.basic.HelpCommand;
 import launchserver.command.basic.LogConnectionsCommand;
 import launchserver.command.basic.RebindCommand;
+import launchserver.command.basic.StatsCommand;
 import launchserver.command.basic.StopCommand;
 import launchserver.command.basic.VersionCommand;
 import launchserver.command.hash.DownloadAssetCommand;
@@ -50,6 +51,7 @@ public abstract class CommandHandler implements Runnable {
         registerCommand("debug", new DebugCommand(server));
         registerCommand("clear", new ClearCommand(server));
         registerCommand("gc", new GCCommand(server));
+        registerCommand("stats", new StatsCommand(server));
         registerCommand("logConnections", new LogConnectionsCommand(server));
         registerCommand("loadModule", new LoadModuleCommand(server));
         registerCommand("modules", new ModulesCommand(server));
@@ -0,0 +1,113 @@
+package launchserver.manangers;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.security.interfaces.RSAPrivateKey;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import javax.crypto.BadPaddingException;
+import javax.crypto.IllegalBlockSizeException;
+
+import launcher.LauncherAPI;
+import launcher.helper.CommonHelper;
+import launcher.helper.JVMHelper;
+import launcher.helper.SecurityHelper;
+import launcher.helper.VerifyHelper;
+
+public final class CryptoManager implements AutoCloseable {
+    @LauncherAPI
+    public static final int THREADS = VerifyHelper.verifyInt(
+            Integer.parseUnsignedInt(System.getProperty("launcher.crypto.threads", Integer.toString(JVMHelper.RUNTIME.availableProcessors()))),
+            VerifyHelper.POSITIVE, "launcher.crypto.threads can't be <= 0");
+    @LauncherAPI
+    public static final int QUEUE_SIZE = VerifyHelper.verifyInt(
+            Integer.parseUnsignedInt(System.getProperty("launcher.crypto.queueSize", Integer.toString(256))),
+            VerifyHelper.POSITIVE, "launcher.crypto.queueSize can't be <= 0");
+    @LauncherAPI
+    public static final long TIMEOUT = VerifyHelper.verifyLong(
+            Long.parseUnsignedLong(System.getProperty("launcher.crypto.timeout", Long.toString(10000L))),
+            VerifyHelper.L_POSITIVE, "launcher.crypto.timeout can't be <= 0");
+    private static final ThreadFactory THREAD_FACTORY = r -> CommonHelper.newThread("Crypto Thread", true, r);
+
+    // Instance
+    private final RSAPrivateKey privateKey;
+    private final ThreadPoolExecutor executor;
+    private final StatsManager.Histogram queueWait = StatsManager.histogram("crypto.queueWait");
+    private final StatsManager.Histogram decryptTime = StatsManager.histogram("crypto.decrypt");
+
+    @LauncherAPI
+    public CryptoManager(RSAPrivateKey privateKey) {
+        this.privateKey = privateKey;
+
+        // Bounded pool; when queue is full, request is rejected (network threads never do RSA themselves)
+        executor = new ThreadPoolExecutor(THREADS, THREADS, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_SIZE), THREAD_FACTORY, new ThreadPoolExecutor.AbortPolicy());
+        StatsManager.registerGauge("crypto.queueDepth", () -> executor.getQueue().size());
+        StatsManager.registerGauge("crypto.activeThreads", executor::getActiveCount);
+        StatsManager.registerGauge("crypto.completedTasks", executor::getCompletedTaskCount);
+    }
+
+    @Override
+    public void close() {
+        // Cancel queued tasks, so nobody waits for them
+        for (Runnable task : executor.shutdownNow()) {
+            if (task instanceof Future) {
+                ((Future<?>) task).cancel(false);
+            }
+        }
+        StatsManager.unregisterGauge("crypto.queueDepth");
+        StatsManager.unregisterGauge("crypto.activeThreads");
+        StatsManager.unregisterGauge("crypto.completedTasks");
+    }
+
+    @LauncherAPI
+    public byte[] decryptRSA(byte[] bytes) throws IOException, IllegalBlockSizeException, BadPaddingException {
+        // Throws RejectedExecutionException if queue is full, shut down or timed out
+        long submitted = System.nanoTime();
+        Future<byte[]> future = executor.submit(() -> {
+            long started = System.nanoTime();
+            queueWait.record(started - submitted);
+            try {
+                return SecurityHelper.decryptRSA(bytes, privateKey);
+            } finally {
+                decryptTime.record(System.nanoTime() - started);
+            }
+        });
+
+        // Wait for crypto worker
+        try {
+            return future.get(TIMEOUT, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new RejectedExecutionException("Crypto worker timeout");
+        } catch (CancellationException e) {
+            throw new RejectedExecutionException("Crypto manager is closed");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for crypto worker");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IllegalBlockSizeException) {
+                throw (IllegalBlockSizeException) cause;
+            }
+            if (cause instanceof BadPaddingException) {
+                throw (BadPaddingException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+}
@@ -1,47 +1,116 @@
 package launchserver.manangers;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import launcher.LauncherAPI;
+import launcher.helper.CommonHelper;
+import launcher.helper.LogHelper;
+import launcher.helper.VerifyHelper;
 import launchserver.NeedGarbageCollection;
 
-import java.util.ArrayList;
-import java.util.Timer;
-import java.util.TimerTask;
+public final class GarbageManager {
+    @LauncherAPI
+    public static final long DEFAULT_INTERVAL = VerifyHelper.verifyLong(
+            Long.parseUnsignedLong(System.getProperty("launcher.gc.interval", Long.toString(60000L))),
+            VerifyHelper.L_POSITIVE, "launcher.gc.interval can't be <= 0");
+    @LauncherAPI
+    public static final int JITTER_PERCENT = VerifyHelper.verifyInt(
+            Integer.parseUnsignedInt(System.getProperty("launcher.gc.jitter", Integer.toString(10))),
+            p -> p >= 0 && p < 100, "launcher.gc.jitter must be in [0, 100)");
+    private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(
+            r -> CommonHelper.newThread("Garbage Manager Thread", true, r));
+    private static final Map<NeedGarbageCollection, Entry> ENTRIES = new ConcurrentHashMap<>(8);
 
-public class GarbageManager {
-    private static final Timer timer = new Timer("GarbageTimer");
-    private static final ArrayList<Entry> NEED_GARBARE_COLLECTION = new ArrayList<>();
+    private GarbageManager() {
+    }
 
+    @LauncherAPI
     public static void registerNeedGC(NeedGarbageCollection gc) {
-        NEED_GARBARE_COLLECTION.add(new Entry(gc, 0L));
+        registerNeedGC(gc, DEFAULT_INTERVAL);
     }
 
-    public static void registerNeedGC(NeedGarbageCollection gc, long time) {
-        TimerTask task = new TimerTask() {
-            @Override
-            public void run() {
-                gc.garbageCollection();
-            }
-        };
-        timer.schedule(task, time);
-        NEED_GARBARE_COLLECTION.add(new Entry(gc, time));
+    @LauncherAPI
+    public static void registerNeedGC(NeedGarbageCollection gc, long interval) {
+        Entry entry = new Entry(gc, VerifyHelper.verifyLong(interval, VerifyHelper.L_POSITIVE, "interval can't be <= 0"));
+        Entry previous = ENTRIES.put(gc, entry);
+        if (previous != null) {
+            previous.cancel();
+        }
+        entry.schedule();
     }
 
+    @LauncherAPI
     public static void unregisterNeedGC(NeedGarbageCollection gc) {
-        NEED_GARBARE_COLLECTION.removeIf(e -> e.invoke == gc);
+        Entry entry = ENTRIES.remove(gc);
+        if (entry != null) {
+            entry.cancel();
+        }
     }
 
+    @LauncherAPI
     public static void gc() {
-        for (Entry gc : NEED_GARBARE_COLLECTION) {
-            gc.invoke.garbageCollection();
+        for (Entry entry : ENTRIES.values()) {
+            entry.collect();
         }
     }
 
-    static class Entry {
-        NeedGarbageCollection invoke;
-        long timer;
+    private static final class Entry {
+        private final NeedGarbageCollection gc;
+        private final long interval;
+        private final StatsManager.Histogram time;
+
+        // Schedule state
+        private volatile boolean cancelled = false;
+        private volatile ScheduledFuture<?> future;
+
+        private Entry(NeedGarbageCollection gc, long interval) {
+            this.gc = gc;
+            this.interval = interval;
+            time = StatsManager.histogram("gc." + gc.getClass().getName());
+        }
+
+        private void cancel() {
+            cancelled = true;
+            ScheduledFuture<?> scheduled = future;
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+        }
+
+        private synchronized void collect() {
+            long start = System.nanoTime();
+            try {
+                gc.garbageCollection();
+            } catch (Throwable exc) {
+                LogHelper.error(exc);
+            } finally {
+                time.record(System.nanoTime() - start);
+            }
+        }
+
+        private void run() {
+            if (cancelled) {
+                return;
+            }
+            collect();
+            schedule();
+        }
+
+        private void schedule() {
+            if (cancelled) {
+                return;
+            }
 
-        public Entry(NeedGarbageCollection invoke, long timer) {
-            this.invoke = invoke;
-            this.timer = timer;
+            // Jitter each run, so collectors with same interval don't fire together
+            long jitter = interval * JITTER_PERCENT / 100;
+            long delay = jitter > 0 ? interval + ThreadLocalRandom.current().nextLong(-jitter, jitter + 1) : interval;
+            future = EXECUTOR.schedule(this::run, delay, TimeUnit.MILLISECONDS);
         }
     }
 }
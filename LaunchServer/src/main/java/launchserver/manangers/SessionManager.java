@@ -4,51 +4,42 @@ import launcher.LauncherAPI;
 import launchserver.NeedGarbageCollection;
 import launchserver.response.Client;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class SessionManager implements NeedGarbageCollection {
     @LauncherAPI
     public static final long SESSION_TIMEOUT = 10 * 60 * 1000; // 10 минут
-    private Set<Client> clientSet = new HashSet<>(128);
+    private final Map<Long, Client> clients = new ConcurrentHashMap<>(128);
 
     @LauncherAPI
     public boolean addClient(Client client) {
-        clientSet.add(client);
+        clients.put(client.session, client);
         return true;
     }
 
     @LauncherAPI
     public Client getClient(long session) {
-        for (Client c : clientSet) {
-            if (c.session == session) return c;
-        }
-        return null;
+        return clients.get(session);
     }
 
     @LauncherAPI
     public Client getOrNewClient(long session) {
-        for (Client c : clientSet) {
-            if (c.session == session) return c;
-        }
-        Client newClient = new Client(session);
-        clientSet.add(newClient);
-        return newClient;
+        return clients.computeIfAbsent(session, Client::new);
     }
 
     @LauncherAPI
     public void updateClient(long session) {
-        for (Client c : clientSet) {
-            if (c.session == session) {
-                c.up();
-                return;
-            }
+        Client client = clients.get(session);
+        if (client != null) {
+            client.up();
         }
     }
 
     @LauncherAPI
     public void garbageCollection() {
+        // Called from GarbageManager thread
         long time = System.currentTimeMillis();
-        clientSet.removeIf(c -> (c.timestamp + SESSION_TIMEOUT) < time);
+        clients.values().removeIf(c -> (c.timestamp + SESSION_TIMEOUT) < time);
     }
 }
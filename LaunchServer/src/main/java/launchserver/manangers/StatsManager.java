@@ -0,0 +1,130 @@
+package launchserver.manangers;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import launcher.LauncherAPI;
+import launcher.helper.LogHelper;
+
+public final class StatsManager {
+    private static final Map<String, Histogram> HISTOGRAMS = new ConcurrentHashMap<>(16);
+    private static final Map<String, LongSupplier> GAUGES = new ConcurrentHashMap<>(16);
+
+    private StatsManager() {
+    }
+
+    @LauncherAPI
+    public static Histogram histogram(String name) {
+        return HISTOGRAMS.computeIfAbsent(name, n -> new Histogram());
+    }
+
+    @LauncherAPI
+    public static void registerGauge(String name, LongSupplier gauge) {
+        GAUGES.put(name, Objects.requireNonNull(gauge, "gauge"));
+    }
+
+    @LauncherAPI
+    public static void unregisterGauge(String name) {
+        GAUGES.remove(name);
+    }
+
+    @LauncherAPI
+    public static void printStats() {
+        for (Map.Entry<String, LongSupplier> gauge : new TreeMap<>(GAUGES).entrySet()) {
+            LogHelper.subInfo("%s: %d", gauge.getKey(), gauge.getValue().getAsLong());
+        }
+        for (Map.Entry<String, Histogram> histogram : new TreeMap<>(HISTOGRAMS).entrySet()) {
+            LogHelper.subInfo("%s: %s", histogram.getKey(), histogram.getValue());
+        }
+    }
+
+    public static final class Histogram {
+        // Bucket upper bounds, in milliseconds
+        private static final long[] BOUNDS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000, Long.MAX_VALUE};
+        private static final int OVERFLOW = BOUNDS.length - 1;
+
+        // Instance
+        private final AtomicLongArray buckets = new AtomicLongArray(BOUNDS.length);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+        private Histogram() {
+        }
+
+        @LauncherAPI
+        public void record(long nanos) {
+            long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+            int bucket = 0;
+            while (millis >= BOUNDS[bucket]) {
+                bucket++;
+            }
+            buckets.incrementAndGet(bucket);
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        @LauncherAPI
+        public long getCount() {
+            return count.sum();
+        }
+
+        @LauncherAPI
+        public long getMeanMillis() {
+            long count = getCount();
+            return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalNanos.sum() / count);
+        }
+
+        @LauncherAPI
+        public long getMaxMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(maxNanos.get());
+        }
+
+        @LauncherAPI
+        public long getPercentileMillis(double percentile) {
+            // Upper bound of percentile bucket, or last finite bound if percentile is beyond it
+            int bucket = getPercentileBucket(percentile);
+            return bucket < 0 ? 0 : BOUNDS[bucket == OVERFLOW ? OVERFLOW - 1 : bucket];
+        }
+
+        @Override
+        public String toString() {
+            return String.format("count=%d, mean=%dms, p50%s, p95%s, p99%s, max=%dms", getCount(), getMeanMillis(),
+                    formatPercentile(0.5D), formatPercentile(0.95D), formatPercentile(0.99D), getMaxMillis());
+        }
+
+        private String formatPercentile(double percentile) {
+            int bucket = getPercentileBucket(percentile);
+            return bucket == OVERFLOW ? String.format(">=%dms", BOUNDS[OVERFLOW - 1]) :
+                    String.format("<%dms", bucket < 0 ? 0 : BOUNDS[bucket]);
+        }
+
+        private int getPercentileBucket(double percentile) {
+            long[] snapshot = new long[BOUNDS.length];
+            long total = 0;
+            for (int i = 0; i < snapshot.length; i++) {
+                snapshot[i] = buckets.get(i);
+                total += snapshot[i];
+            }
+
+            // Find bucket containing percentile
+            long threshold = (long) Math.ceil(total * percentile);
+            long seen = 0;
+            for (int i = 0; i < snapshot.length; i++) {
+                seen += snapshot[i];
+                if (seen >= threshold && seen > 0) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
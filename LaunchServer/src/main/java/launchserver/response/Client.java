@@ -7,7 +7,7 @@ public class Client {
     }
 
     public long session;
-    public long timestamp;
+    public volatile long timestamp;
 
     public void up() {
         this.timestamp = System.currentTimeMillis();
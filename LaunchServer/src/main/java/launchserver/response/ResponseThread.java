@@ -37,8 +37,8 @@ public final class ResponseThread implements Runnable {
         // Process connection
         boolean cancelled = false;
         Exception savedError = null;
-        try (HInput input = new HInput(socket.getInputStream());
-             HOutput output = new HOutput(socket.getOutputStream())) {
+        try (HInput input = new HInput(IOHelper.newInput(socket));
+             HOutput output = new HOutput(IOHelper.newOutput(socket))) {
             Handshake handshake = readHandshake(input, output);
             if (handshake == null) { // Not accepted
                 cancelled = true;
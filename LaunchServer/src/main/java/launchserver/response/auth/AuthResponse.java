@@ -1,8 +1,12 @@
 package launchserver.response.auth;
 
+import java.io.IOException;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
 import javax.crypto.BadPaddingException;
 import javax.crypto.IllegalBlockSizeException;
 
@@ -41,67 +45,80 @@ public final class AuthResponse extends Response {
         // Decrypt password
         String password;
         try {
-            password = IOHelper.decode(SecurityHelper.newRSADecryptCipher(server.privateKey).
-                    doFinal(encryptedPassword));
+            password = IOHelper.decode(server.cryptoManager.decryptRSA(encryptedPassword));
         } catch (IllegalBlockSizeException | BadPaddingException ignored) {
             requestError("Password decryption error");
             return;
+        } catch (RejectedExecutionException ignored) {
+            requestError("Server is busy, try again later");
+            return;
         }
 
         // Authenticate
         debug("Login: '%s', Password: '%s'", login, echo(password.length()));
+        if (server.limiter.isLimit(ip)) {
+            requestError(server.config.authRejectString);
+            return;
+        }
+        HWID hwid = HWID.gen(hwid_hdd, hwid_bios, hwid_cpu);
+        CompletableFuture<AuthProviderResult> authFuture = server.config.authProvider.authAsync(login, password, ip).
+                thenApply(r -> verifyResult(r, login, client, hwid));
+        CompletableFuture<UUID> uuidFuture = authFuture.thenApply(this::authHandler);
+
+        // Wait for composed stages (HTTP providers complete them on HTTP pool, socket protocol is still blocking)
         AuthProviderResult result;
+        UUID uuid;
         try {
-            if (server.limiter.isLimit(ip)) {
-                AuthProvider.authError(server.config.authRejectString);
+            uuid = uuidFuture.get();
+            result = authFuture.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof AuthException || cause instanceof HWIDException) {
+                requestError(cause.getMessage());
                 return;
             }
-            result = server.config.authProvider.auth(login, password, ip);
-            if (!VerifyHelper.isValidUsername(result.username)) {
-                AuthProvider.authError(String.format("Illegal result: '%s'", result.username));
+            if (cause instanceof RejectedExecutionException) { // HTTP pool queue is full
+                requestError("Server is busy, try again later");
                 return;
             }
-            Collection<SignedObjectHolder<ClientProfile>> profiles = server.getProfiles();
-            for(SignedObjectHolder<ClientProfile> p : profiles)
-            {
-                if(p.object.getTitle().equals(client))
-                {
-                    if(!p.object.isWhitelistContains(login)){
-                        throw new AuthException(server.config.whitelistRejectString);
-                    }
-                }
-            }
-            server.config.hwidHandler.check(HWID.gen(hwid_hdd, hwid_bios, hwid_cpu), result.username);
-        } catch (AuthException e) {
-            requestError(e.getMessage());
-            return;
-        } catch (HWIDException e) {
-            requestError(e.getMessage());
-            return;
-        } catch (Exception e) {
-            LogHelper.error(e);
-            requestError("Internal auth provider error");
+            LogHelper.error(cause);
+            requestError(authFuture.isCompletedExceptionally() ?
+                    "Internal auth provider error" : "Internal auth handler error");
             return;
         }
         debug("Auth: '%s' -> '%s', '%s'", login, result.username, result.accessToken);
-        // Authenticate on server (and get UUID)
-        UUID uuid;
-        try {
-            uuid = server.config.authHandler.auth(result);
-        } catch (AuthException e) {
-            requestError(e.getMessage());
-            return;
-        } catch (Exception e) {
-            LogHelper.error(e);
-            requestError("Internal auth handler error");
-            return;
-        }
         writeNoError(output);
         // Write profile and UUID
         ProfileByUUIDResponse.getProfile(server, uuid, result.username, client).write(output);
         output.writeASCII(result.accessToken, -SecurityHelper.TOKEN_STRING_LENGTH);
     }
 
+    private AuthProviderResult verifyResult(AuthProviderResult result, String login, String client, HWID hwid) {
+        try {
+            if (!VerifyHelper.isValidUsername(result.username)) {
+                AuthProvider.authError(String.format("Illegal result: '%s'", result.username));
+            }
+            for (SignedObjectHolder<ClientProfile> p : server.getProfilesByTitle(client)) {
+                if (!p.object.isWhitelistContains(login)) {
+                    throw new AuthException(server.config.whitelistRejectString);
+                }
+            }
+            server.config.hwidHandler.check(hwid, result.username);
+        } catch (IOException | HWIDException e) {
+            throw new CompletionException(e);
+        }
+        return result;
+    }
+
+    private UUID authHandler(AuthProviderResult result) {
+        // Authenticate on server (and get UUID)
+        try {
+            return server.config.authHandler.auth(result);
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        }
+    }
+
     private static String echo(int length) {
         char[] chars = new char[length];
         Arrays.fill(chars, '*');
@@ -2,8 +2,13 @@ package launchserver.response.profile;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import launcher.helper.VerifyHelper;
+import launcher.profiles.PlayerProfile;
 import launcher.request.uuid.BatchProfileByUsernameRequest;
 import launcher.serialize.HInput;
 import launcher.serialize.HOutput;
@@ -12,6 +17,9 @@ import launchserver.LaunchServer;
 import launchserver.response.Response;
 
 public final class BatchProfileByUsernameResponse extends Response {
+    private static final int PARALLELISM = VerifyHelper.verifyInt(
+            Integer.parseUnsignedInt(System.getProperty("launcher.batchParallelism", Integer.toString(8))),
+            VerifyHelper.POSITIVE, "launcher.batchParallelism can't be <= 0");
 
     public BatchProfileByUsernameResponse(LaunchServer server, long session, HInput input, HOutput output, String ip) {
         super(server, session, input, output, ip);
@@ -28,9 +36,37 @@ public final class BatchProfileByUsernameResponse extends Response {
         }
         debug("Usernames: " + Arrays.toString(usernames));
 
+        // Resolve UUIDs with one bulk lookup
+        Map<String, UUID> uuids = server.config.authHandler.usernamesToUUIDs(Arrays.asList(usernames));
+
+        // Resolve profiles concurrently (input order is kept by index)
+        PlayerProfile[] profiles = new PlayerProfile[length];
+        AtomicInteger next = new AtomicInteger(0);
+        Runnable worker = () -> {
+            for (int i = next.getAndIncrement(); i < length; i = next.getAndIncrement()) {
+                UUID uuid = uuids.get(usernames[i]);
+                if (uuid != null) {
+                    profiles[i] = ProfileByUUIDResponse.getProfile(server, uuid, usernames[i], clients[i]);
+                }
+            }
+        };
+        @SuppressWarnings("unchecked")
+        FutureTask<Void>[] workers = new FutureTask[Math.max(Math.min(PARALLELISM, length) - 1, 0)];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new FutureTask<>(worker, null);
+            ProfileByUUIDResponse.submit(workers[i]);
+        }
+        worker.run();
+        for (FutureTask<Void> task : workers) {
+            ProfileByUUIDResponse.join(task); // Not started workers finish at once, nothing left
+        }
+
         // Respond with profiles array
-        for (int i = 0; i < usernames.length; i++) {
-            ProfileByUsernameResponse.writeProfile(server, output, usernames[i], clients[i]);
+        for (PlayerProfile profile : profiles) {
+            output.writeBoolean(profile != null);
+            if (profile != null) {
+                profile.write(output);
+            }
         }
     }
 }
@@ -2,10 +2,18 @@ package launchserver.response.profile;
 
 import java.io.IOException;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import launcher.profiles.PlayerProfile;
 import launcher.profiles.Texture;
+import launcher.helper.CommonHelper;
 import launcher.helper.LogHelper;
+import launcher.helper.VerifyHelper;
 import launcher.serialize.HInput;
 import launcher.serialize.HOutput;
 import launcher.serialize.SerializeLimits;
@@ -13,6 +21,18 @@ import launchserver.LaunchServer;
 import launchserver.response.Response;
 
 public final class ProfileByUUIDResponse extends Response {
+    private static final int THREADS = VerifyHelper.verifyInt(
+            Integer.parseUnsignedInt(System.getProperty("launcher.profile.threads", Integer.toString(16))),
+            VerifyHelper.POSITIVE, "launcher.profile.threads can't be <= 0");
+    private static final int QUEUE_SIZE = VerifyHelper.verifyInt(
+            Integer.parseUnsignedInt(System.getProperty("launcher.profile.queueSize", Integer.toString(256))),
+            VerifyHelper.POSITIVE, "launcher.profile.queueSize can't be <= 0");
+    private static final ThreadPoolExecutor PROFILE_EXECUTOR = new ThreadPoolExecutor(THREADS, THREADS, 60L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(QUEUE_SIZE), r -> CommonHelper.newThread("Profile Thread", true, r));
+
+    static {
+        PROFILE_EXECUTOR.allowCoreThreadTimeOut(true);
+    }
 
     public ProfileByUUIDResponse(LaunchServer server, long session, HInput input, HOutput output, String ip) {
         super(server, session, input, output, ip);
@@ -36,25 +56,51 @@ public final class ProfileByUUIDResponse extends Response {
     }
 
     public static PlayerProfile getProfile(LaunchServer server, UUID uuid, String username, String client) {
-        // Get skin texture
-        Texture skin;
+        // Get cloak texture in parallel with skin texture
+        FutureTask<Texture> cloak = new FutureTask<>(() -> getCloakTexture(server, uuid, username, client));
+        submit(cloak);
+        Texture skin = getSkinTexture(server, uuid, username, client);
+
+        // Return combined profile
+        return new PlayerProfile(uuid, username, skin, join(cloak));
+    }
+
+    static <V> V join(FutureTask<V> task) {
+        // Run task in this thread if no worker picked it up yet
+        task.run();
         try {
-            skin = server.config.textureProvider.getSkinTexture(uuid, username, client);
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for profile worker", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    static void submit(FutureTask<?> task) {
+        try {
+            PROFILE_EXECUTOR.execute(task);
+        } catch (RejectedExecutionException ignored) {
+            // Pool is saturated, task will be run by caller in join()
+        }
+    }
+
+    private static Texture getSkinTexture(LaunchServer server, UUID uuid, String username, String client) {
+        try {
+            return server.config.textureProvider.getSkinTexture(uuid, username, client);
         } catch (IOException e) {
             LogHelper.error(new IOException(String.format("Can't get skin texture: '%s'", username), e));
-            skin = null;
+            return null;
         }
+    }
 
-        // Get cloak texture
-        Texture cloak;
+    private static Texture getCloakTexture(LaunchServer server, UUID uuid, String username, String client) {
         try {
-            cloak = server.config.textureProvider.getCloakTexture(uuid, username, client);
+            return server.config.textureProvider.getCloakTexture(uuid, username, client);
         } catch (IOException e) {
             LogHelper.error(new IOException(String.format("Can't get cloak texture: '%s'", username), e));
-            cloak = null;
+            return null;
         }
-
-        // Return combined profile
-        return new PlayerProfile(uuid, username, skin, cloak);
     }
 }
@@ -0,0 +1,165 @@
+package launchserver.texture;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import launcher.LauncherAPI;
+import launcher.helper.IOHelper;
+import launcher.helper.LogHelper;
+import launcher.helper.VerifyHelper;
+import launcher.profiles.Texture;
+import launcher.serialize.config.entry.BlockConfigEntry;
+import launcher.serialize.config.entry.IntegerConfigEntry;
+import launcher.serialize.config.entry.StringConfigEntry;
+import launchserver.NeedGarbageCollection;
+import launchserver.manangers.GarbageManager;
+
+public final class CachedTextureProvider extends TextureProvider implements NeedGarbageCollection {
+    private final TextureProvider provider;
+    private final Map<String, Entry> cache; // Access-ordered, guarded by itself
+
+    // Config
+    private final long ttl;
+    private final long notFoundTTL;
+    private final int maxEntries;
+
+    public CachedTextureProvider(BlockConfigEntry block) {
+        super(block);
+        provider = newProvider(block.getEntryValue("provider", StringConfigEntry.class),
+                block.getEntry("providerConfig", BlockConfigEntry.class));
+        ttl = block.hasEntry("ttl") ? VerifyHelper.verifyInt(block.getEntryValue("ttl", IntegerConfigEntry.class),
+                VerifyHelper.NOT_NEGATIVE, "Illegal texture ttl") : 300000;
+        notFoundTTL = block.hasEntry("notFoundTTL") ? VerifyHelper.verifyInt(block.getEntryValue("notFoundTTL", IntegerConfigEntry.class),
+                VerifyHelper.NOT_NEGATIVE, "Illegal texture notFoundTTL") : 60000;
+        maxEntries = block.hasEntry("maxEntries") ? VerifyHelper.verifyInt(block.getEntryValue("maxEntries", IntegerConfigEntry.class),
+                VerifyHelper.POSITIVE, "Illegal texture maxEntries") : 8192;
+
+        // Evict least recently used entry when full (expired ones are swept by GC)
+        cache = new LinkedHashMap<String, Entry>(256, 0.75F, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedTextureProvider.Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        GarbageManager.registerNeedGC(this);
+    }
+
+    @Override
+    public void close() throws IOException {
+        GarbageManager.unregisterNeedGC(this);
+        invalidate();
+        provider.close();
+    }
+
+    @Override
+    public Texture getCloakTexture(UUID uuid, String username, String client) throws IOException {
+        return getTexture(uuid, username, client, true);
+    }
+
+    @Override
+    public Texture getSkinTexture(UUID uuid, String username, String client) throws IOException {
+        return getTexture(uuid, username, client, false);
+    }
+
+    @Override
+    public void garbageCollection() {
+        long now = System.currentTimeMillis();
+        synchronized (cache) {
+            cache.values().removeIf(e -> e.expire < now);
+        }
+    }
+
+    @LauncherAPI
+    public void invalidate() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    private Texture getTexture(UUID uuid, String username, String client, boolean cloak) throws IOException {
+        String key = (cloak ? "cloak:" : "skin:") + uuid + ':' + username + ':' + client;
+        long now = System.currentTimeMillis();
+        Entry entry;
+        synchronized (cache) {
+            entry = cache.get(key);
+        }
+        if (entry != null && entry.expire >= now) {
+            return entry.texture;
+        }
+
+        // Revalidate expired texture, or ask backend provider
+        Entry newEntry;
+        if (entry != null && entry.texture != null) {
+            try {
+                newEntry = revalidate(entry, cloak, now);
+            } catch (IOException e) {
+                LogHelper.error(new IOException(String.format("Can't revalidate texture: '%s'", entry.texture.url), e));
+
+                // Serve stale texture, back off so dead backend isn't asked on each request
+                put(key, new Entry(entry.texture, entry.etag, entry.lastModified, now + notFoundTTL));
+                return entry.texture;
+            }
+        } else {
+            Texture texture = cloak ? provider.getCloakTexture(uuid, username, client) :
+                    provider.getSkinTexture(uuid, username, client);
+            newEntry = new Entry(texture, null, null, now + (texture == null ? notFoundTTL : ttl));
+        }
+        put(key, newEntry);
+        return newEntry.texture;
+    }
+
+    private Entry revalidate(Entry entry, boolean cloak, long now) throws IOException {
+        URLConnection connection = IOHelper.newConnection(new URL(entry.texture.url));
+        if (entry.etag != null) {
+            connection.setRequestProperty("If-None-Match", entry.etag);
+        }
+        if (entry.lastModified != null) {
+            connection.setRequestProperty("If-Modified-Since", entry.lastModified);
+        }
+
+        // Not modified, keep digest
+        if (connection instanceof HttpURLConnection &&
+                ((HttpURLConnection) connection).getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+            return new Entry(entry.texture, entry.etag, entry.lastModified, now + ttl);
+        }
+
+        // Modified or removed, download once and verify
+        byte[] bytes;
+        try (InputStream input = connection.getInputStream()) {
+            bytes = IOHelper.read(input);
+        } catch (FileNotFoundException ignored) {
+            return new Entry(null, null, null, now + notFoundTTL);
+        }
+        return new Entry(new Texture(entry.texture.url, bytes, cloak), connection.getHeaderField("ETag"),
+                connection.getHeaderField("Last-Modified"), now + ttl);
+    }
+
+    private void put(String key, Entry entry) {
+        synchronized (cache) {
+            cache.put(key, entry);
+        }
+    }
+
+    private static final class Entry {
+        private final Texture texture;
+        private final String etag;
+        private final String lastModified;
+        private final long expire;
+
+        private Entry(Texture texture, String etag, String lastModified, long expire) {
+            this.texture = texture;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.expire = expire;
+        }
+    }
+}
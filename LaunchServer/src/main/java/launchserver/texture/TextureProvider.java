@@ -48,6 +48,7 @@ public abstract class TextureProvider extends ConfigObject implements AutoClosea
         if (!registredProv) {
             registerProvider("null", NullTextureProvider::new);
             registerProvider("void", VoidTextureProvider::new);
+            registerProvider("cached", CachedTextureProvider::new);
 
             // Auth providers that doesn't do nothing :D
             registerProvider("request", RequestTextureProvider::new);
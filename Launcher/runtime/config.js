@@ -10,7 +10,7 @@ var config = {
     linkURL: new java.net.URL("https://gravithome.ru/"), // URL for link under "Auth" button
 
     // Settings defaults
-    settingsMagic: 0xC0DE5, // Ancient magic, don't touch
+    settingsMagic: 0xC0DE7, // Ancient magic, don't touch
     autoEnterDefault: false, // Should autoEnter be enabled by default?
     fullScreenDefault: false, // Should fullScreen be enabled by default?
     ramDefault: 1024, // Default RAM amount (0 for auto)
@@ -220,7 +220,9 @@ function updateProfilesList(profiles) {
     // Set profiles items
     profilesBox.setItems(javafx.collections.FXCollections.observableList(profiles));
     for each (var profile in profiles) {
-        pingers[profile.object] = new ServerPinger(profile.object.getServerSocketAddress(), profile.object.getVersion());
+        var pinger = new ServerPinger(profile.object.getServerSocketAddress(), profile.object.getVersion());
+        pinger.pingAsync(); // Ping all servers concurrently
+        pingers[profile.object] = pinger;
     }
 
     // Set profiles selection model
@@ -261,14 +263,14 @@ function newProfileCell(listView) {
 
 function pingServer(status, statusCircle, profile) {
     setServerStatus(status, statusCircle, javafx.scene.paint.Color.GREY, "...");
-    var task = newTask(function() pingers[profile.object].ping());
-    task.setOnSucceeded(function(event) {
-        var result = task.getValue();
+    pingers[profile.object].pingAsync().whenComplete(function(result, exc) javafx.application.Platform.runLater(function() {
+        if (exc !== null) {
+            setServerStatus(status, statusCircle, javafx.scene.paint.Color.RED, "Недоступен");
+            return;
+        }
         var color = result.isOverfilled() ? javafx.scene.paint.Color.YELLOW : javafx.scene.paint.Color.GREEN;
         setServerStatus(status, statusCircle, color, java.lang.String.format("%d из %d", result.onlinePlayers, result.maxPlayers));
-    });
-    task.setOnFailed(function(event) setServerStatus(status, statusCircle, javafx.scene.paint.Color.RED, "Недоступен"));
-    startTask(task);
+    }));
 }
 
 function setServerStatus(status, statusCircle, color, description) {
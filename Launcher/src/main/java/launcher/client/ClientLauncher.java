@@ -13,9 +13,12 @@ import java.security.interfaces.RSAPublicKey;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.swing.JOptionPane;
@@ -34,6 +37,7 @@ import launcher.hasher.FileNameMatcher;
 import launcher.hasher.HashedDir;
 import launcher.helper.*;
 import launcher.helper.JVMHelper.OS;
+import launcher.helper.SecurityHelper.DigestAlgorithm;
 import launcher.profiles.PlayerProfile;
 import launcher.request.update.LauncherRequest;
 import launcher.serialize.HInput;
@@ -49,6 +53,9 @@ public final class ClientLauncher {
     private static final boolean isUsingWrapper = true;
     @LauncherAPI
     public static final String TITLE_PROPERTY = "launcher.title";
+    // AppCDS is opt-in, archive isn't verified like client dir
+    @LauncherAPI
+    public static final boolean APPCDS = Boolean.parseBoolean(System.getProperty("launcher.appcds", Boolean.toString(false)));
     @SuppressWarnings("unused")
     private static final Set<PosixFilePermission> BIN_POSIX_PERMISSIONS = Collections.unmodifiableSet(EnumSet.of(
             PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE, PosixFilePermission.OWNER_EXECUTE, // Owner
@@ -59,6 +66,11 @@ public final class ClientLauncher {
     // Constants
     private static final Path NATIVES_DIR = IOHelper.toPath("natives");
     private static final Path RESOURCEPACKS_DIR = IOHelper.toPath("resourcepacks");
+    private static final String CDS_DIR = ".cds";
+    private static final String CDS_EXTENSION = ".jsa";
+    private static final String CDS_DUMP_EXTENSION = ".jsa.tmp";
+    private static final int CDS_MIN_JVM_VERSION = 13; // Dynamic archives (-XX:ArchiveClassesAtExit)
+    private static final long CDS_DUMP_MAX_AGE = 3600000L; // Dump is written on client exit, older is abandoned
     private static LauncherClassLoader classLoader;
     // Authlib constants
     @LauncherAPI
@@ -163,6 +175,10 @@ public final class ClientLauncher {
         for (Path path : classPath) {
             classPathString.append(File.pathSeparatorChar).append(path.toString());
         }
+        Path sharedArchiveDump = null;
+        if (APPCDS && JVMHelper.JVM_VERSION >= CDS_MIN_JVM_VERSION) {
+            sharedArchiveDump = addSharedArchive(args, params.clientDir, classPathString.toString(), clientHDir.object);
+        }
         Collections.addAll(args, profile.object.getJvmArgs());
         Collections.addAll(args, "-Djava.library.path=".concat(params.clientDir.resolve(NATIVES_DIR).toString())); // Add Native Path
         //Collections.addAll(args,"-javaagent:launcher.LauncherAgent");
@@ -190,7 +206,12 @@ public final class ClientLauncher {
             builder.redirectOutput(Redirect.PIPE);
         }
         // Let's rock!
-        return builder.start();
+        Process process = builder.start();
+        if (sharedArchiveDump != null) { // Keeps launcher JVM alive until client exits (only while dumping)
+            Path dump = sharedArchiveDump;
+            CommonHelper.newThread("AppCDS Archive Writer", false, () -> promoteSharedArchive(process, dump)).start();
+        }
+        return process;
     }
 
     @LauncherAPI
@@ -222,44 +243,50 @@ public final class ClientLauncher {
             Files.delete(paramsFile);
         }
         title = params.title;
+
+        // Start asset dir verification (client dir is verified in this thread)
+        boolean digest = !profile.object.isUpdateFastCheck();
+        FileNameMatcher assetMatcher = profile.object.getAssetUpdateMatcher();
+        FileNameMatcher clientMatcher = profile.object.getClientUpdateMatcher();
+        FutureTask<DirWatcher> assetWatcherTask = new FutureTask<>(() -> verifyAndWatch(params.assetDir, assetHDir.object, assetMatcher, digest));
+        CommonHelper.newThread("Asset Directory Verifier", true, assetWatcherTask).start();
+
         // Verify ClientLauncher sign and classpath
         LogHelper.debug("Verifying ClientLauncher sign and classpath");
         SecurityHelper.verifySign(LauncherRequest.BINARY_PATH, params.launcherSign, publicKey);
-        String[] classpath = JVMHelper.getClassPath();
         LinkedList<Path> classPath = resolveClassPathList(params.clientDir, profile.object.getClassPath());
+        Set<String> classPathSet = new HashSet<>(classPath.size());
+        for (Path path : classPath) {
+            classPathSet.add(path.toString());
+        }
         int counter = classPath.size();
-        for (String classpathURL : classpath) {
-            Path file = Paths.get(classpathURL);
-            if (!file.startsWith(IOHelper.JVM_DIR)) {
-                for (Path classPathURL : classPath) {
-                    if (classpathURL.equals(classPathURL.toString())) {
-                        counter--;
-                        break;
-                    }
-                }
+        for (String classpathURL : JVMHelper.getClassPath()) {
+            if (!Paths.get(classpathURL).startsWith(IOHelper.JVM_DIR) && classPathSet.contains(classpathURL)) {
+                counter--;
             }
         }
         if (counter != 0) {
             throw new SecurityException(String.format("Forbidden classpath entry, %d != 0", counter));
         }
-        URL[] classpathurls = resolveClassPath(params.clientDir, profile.object.getClassPath());
-        classLoader = new LauncherClassLoader(classpathurls, ClassLoader.getSystemClassLoader());
+        URL[] classpathurls = classPath.stream().map(IOHelper::toURL).toArray(URL[]::new);
+        classLoader = new LauncherClassLoader(classpathurls, ClassLoader.getSystemClassLoader(), true);
         Thread.currentThread().setContextClassLoader(classLoader);
-        // Start client with WatchService monitoring
-        boolean digest = !profile.object.isUpdateFastCheck();
+
+        // Verify client dir and wait for asset dir
         LogHelper.debug("Starting JVM and client WatchService");
-        FileNameMatcher assetMatcher = profile.object.getAssetUpdateMatcher();
-        FileNameMatcher clientMatcher = profile.object.getClientUpdateMatcher();
-        try (DirWatcher assetWatcher = new DirWatcher(params.assetDir, assetHDir.object, assetMatcher, digest);
-             DirWatcher clientWatcher = new DirWatcher(params.clientDir, clientHDir.object, clientMatcher, digest)) {
-            // Verify current state of all dirs
-            //verifyHDir(IOHelper.JVM_DIR, jvmHDir.object, null, digest);
-            verifyHDir(params.assetDir, assetHDir.object, assetMatcher, digest);
-            verifyHDir(params.clientDir, clientHDir.object, clientMatcher, digest);
-
-            // Start WatchService, and only then client
-            CommonHelper.newThread("Asset Directory Watcher", true, assetWatcher).start();
-            CommonHelper.newThread("Client Directory Watcher", true, clientWatcher).start();
+        DirWatcher clientWatcher = verifyAndWatch(params.clientDir, clientHDir.object, clientMatcher, digest);
+        DirWatcher assetWatcher;
+        try {
+            assetWatcher = assetWatcherTask.get();
+        } catch (ExecutionException e) {
+            clientWatcher.close();
+            throw e.getCause();
+        }
+
+        // Start WatchService, and only then client
+        try (DirWatcher assetWatcherResource = assetWatcher; DirWatcher clientWatcherResource = clientWatcher) {
+            CommonHelper.newThread("Asset Directory Watcher", true, assetWatcherResource).start();
+            CommonHelper.newThread("Client Directory Watcher", true, clientWatcherResource).start();
             launch(profile.object, params);
         }
     }
@@ -272,11 +299,23 @@ public final class ClientLauncher {
 
         // Hash directory and compare (ignore update-only matcher entries, it will break offline-mode)
         HashedDir currentHDir = new HashedDir(dir, matcher, false, digest);
-        if (!hdir.diff(currentHDir, matcher).isSame()) {
+        if (!hdir.isSame(currentHDir) && !hdir.diff(currentHDir, matcher).isSame()) {
             throw new SecurityException(String.format("Forbidden modification: '%s'", IOHelper.getFileName(dir)));
         }
     }
 
+    private static DirWatcher verifyAndWatch(Path dir, HashedDir hdir, FileNameMatcher matcher, boolean digest) throws IOException {
+        // Register watcher before verification, so nothing can be modified in between
+        DirWatcher watcher = new DirWatcher(dir, hdir, matcher, digest);
+        try {
+            verifyHDir(dir, hdir, matcher, digest);
+        } catch (Throwable exc) {
+            watcher.close();
+            throw exc;
+        }
+        return watcher;
+    }
+
     private static void addClientArgs(Collection<String> args, ClientProfile profile, Params params) {
         PlayerProfile pp = params.pp;
 
@@ -367,17 +406,76 @@ public final class ClientLauncher {
         mainMethod.invoke((Object) args.toArray(EMPTY_ARRAY));
     }
 
-    private static URL[] resolveClassPath(Path clientDir, String... classPath) throws IOException {
-        Collection<Path> result = new LinkedList<>();
-        for (String classPathEntry : classPath) {
-            Path path = clientDir.resolve(IOHelper.toPath(classPathEntry));
-            if (IOHelper.isDir(path)) { // Recursive walking and adding
-                IOHelper.walk(path, new ClassPathFileVisitor(result), false);
-                continue;
+    private static Path addSharedArchive(Collection<String> args, Path clientDir, String classPath, HashedDir clientHDir) {
+        // Archive is bound to exact classpath, client files and JVM build
+        String key = SecurityHelper.toHex(SecurityHelper.digest(DigestAlgorithm.MD5, String.join("\0", classPath,
+                SecurityHelper.toHex(clientHDir.getHash()), System.getProperty("java.home"), System.getProperty("java.vm.version"))));
+        Path archiveDir = clientDir.resolveSibling(CDS_DIR).resolve(IOHelper.getFileName(clientDir));
+        Path archive = archiveDir.resolve(key + CDS_EXTENSION);
+        long now = System.currentTimeMillis();
+        try {
+            Files.createDirectories(archiveDir);
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(archiveDir)) {
+                for (Path file : files) {
+                    String fileName = IOHelper.getFileName(file);
+                    try {
+                        if (!fileName.startsWith(key + '.')) { // Stale archive, may be still used by other client
+                            Files.delete(file);
+                        } else if (fileName.endsWith(CDS_DUMP_EXTENSION) &&
+                                Files.getLastModifiedTime(file).toMillis() < now - CDS_DUMP_MAX_AGE) {
+                            Files.delete(file); // Never promoted (client crashed or launcher was killed), may be truncated
+                        }
+                    } catch (IOException ignored) {
+                        // Busy or lost race with concurrent launch
+                    }
+                }
+            }
+            if (IOHelper.isFile(archive)) {
+                LogHelper.debug("Using AppCDS archive: '%s'", archive);
+                args.add("-XX:SharedArchiveFile=" + archive);
+                return null;
+            }
+
+            // Dump to unique file on client exit, so concurrent launches never write same file
+            Path dump = archiveDir.resolve(key + '.' + SecurityHelper.randomStringToken() + CDS_DUMP_EXTENSION);
+            LogHelper.debug("Creating AppCDS archive: '%s'", dump);
+            args.add("-XX:ArchiveClassesAtExit=" + dump);
+            return dump;
+        } catch (IOException e) {
+            LogHelper.error(e);
+            return null;
+        }
+    }
+
+    private static void promoteSharedArchive(Process process, Path dump) {
+        String fileName = IOHelper.getFileName(dump);
+        Path archive = dump.resolveSibling(fileName.substring(0, fileName.indexOf('.')) + CDS_EXTENSION);
+
+        // Dump is complete only if client exited normally
+        boolean promoted = false;
+        try {
+            int exitCode = process.waitFor();
+            if (exitCode == 0 && IOHelper.isFile(dump) && !IOHelper.isFile(archive)) {
+                Files.move(dump, archive, StandardCopyOption.ATOMIC_MOVE);
+                promoted = true;
+                LogHelper.debug("AppCDS archive created: '%s'", archive);
+            } else {
+                LogHelper.debug("Discarding AppCDS dump (exit code %d): '%s'", exitCode, dump);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            LogHelper.error(e);
+        }
+
+        // Delete failed or redundant dump
+        if (!promoted) {
+            try {
+                Files.deleteIfExists(dump);
+            } catch (IOException e) {
+                LogHelper.error(e);
             }
-            result.add(path);
         }
-        return result.stream().map(IOHelper::toURL).toArray(URL[]::new);
     }
 
     private static LinkedList<Path> resolveClassPathList(Path clientDir, String... classPath) throws IOException {
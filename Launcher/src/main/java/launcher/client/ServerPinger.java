@@ -8,12 +8,18 @@ import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 
 import com.eclipsesource.json.Json;
 import com.eclipsesource.json.JsonObject;
 import launcher.LauncherAPI;
 import launcher.profiles.ClientProfile.Version;
+import launcher.helper.CommonHelper;
 import launcher.helper.IOHelper;
 import launcher.helper.LogHelper;
 import launcher.helper.VerifyHelper;
@@ -27,15 +33,25 @@ public final class ServerPinger {
     private static final Pattern LEGACY_PING_HOST_DELIMETER = Pattern.compile("\0", Pattern.LITERAL);
     private static final int PACKET_LENGTH = 65535;
 
+    @LauncherAPI
+    public static final int PING_TIMEOUT = VerifyHelper.verifyInt(
+            Integer.parseUnsignedInt(System.getProperty("launcher.pinger.timeout", Integer.toString(5000))),
+            VerifyHelper.POSITIVE, "launcher.pinger.timeout can't be <= 0");
+    @LauncherAPI
+    public static final long CACHE_TTL = VerifyHelper.verifyLong(
+            Long.parseUnsignedLong(System.getProperty("launcher.pinger.cacheTTL", Integer.toString(IOHelper.SOCKET_TIMEOUT))),
+            VerifyHelper.L_NOT_NEGATIVE, "launcher.pinger.cacheTTL can't be < 0");
+    private static final ExecutorService PING_EXECUTOR = Executors.newCachedThreadPool(
+            r -> CommonHelper.newThread("Server Pinger Thread", true, r));
+
     // Instance
     private final InetSocketAddress address;
     private final Version version;
 
     // Cache
     private final Object cacheLock = new Object();
-    private Result cache = null;
-    private Exception cacheException = null;
-    private Instant cacheTime = null;
+    private CompletableFuture<Result> cache = null;
+    private volatile Instant cacheTime = null;
 
     @LauncherAPI
     public ServerPinger(InetSocketAddress address, Version version) {
@@ -45,42 +61,55 @@ public final class ServerPinger {
 
     @LauncherAPI
     public Result ping() throws IOException {
-        Instant now = Instant.now();
-        synchronized (cacheLock) {
-            // Update ping cache
-            if (cacheTime == null || Duration.between(now, cacheTime).toMillis() >= IOHelper.SOCKET_TIMEOUT) {
-                cacheTime = now;
-                try {
-                    cache = doPing();
-                    cacheException = null;
-                } catch (IOException | IllegalArgumentException /* Protocol error */ e) {
-                    cache = null;
-                    cacheException = e;
-                }
+        try {
+            return pingAsync().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
             }
-
-            // Verify is result available
-            if (cache == null) {
-                if (cacheException instanceof IOException) {
-                    throw (IOException) cacheException;
-                }
-                if (cacheException instanceof IllegalArgumentException) {
-                    throw (IllegalArgumentException) cacheException;
-                }
-                cacheException = new IOException("Unavailable");
-                throw (IOException) cacheException;
+            if (cause instanceof IllegalArgumentException) {
+                throw (IllegalArgumentException) cause;
             }
+            throw new IOException("Unavailable", cause);
+        }
+    }
 
-            // We're done
-            return cache;
+    @LauncherAPI
+    public CompletableFuture<Result> pingAsync() {
+        CompletableFuture<Result> future;
+        synchronized (cacheLock) {
+            // Start new ping if cached one is expired, in-flight ping is shared
+            if (cache == null || cache.isDone() && Duration.between(cacheTime, Instant.now()).toMillis() >= CACHE_TTL) {
+                CompletableFuture<Result> newCache = new CompletableFuture<>();
+                PING_EXECUTOR.execute(() -> {
+                    try {
+                        Result result = doPing();
+                        cacheTime = Instant.now();
+                        newCache.complete(result);
+                    } catch (Throwable exc) { // IO or protocol error
+                        cacheTime = Instant.now();
+                        newCache.completeExceptionally(exc);
+                    }
+                });
+                cache = newCache;
+            }
+            future = cache;
         }
+
+        // Don't let callers complete cached future
+        return future.thenApply(Function.identity());
     }
 
     private Result doPing() throws IOException {
         try (Socket socket = IOHelper.newSocket()) {
-            socket.connect(IOHelper.resolve(address), IOHelper.SOCKET_TIMEOUT);
-            try (HInput input = new HInput(socket.getInputStream());
-                 HOutput output = new HOutput(socket.getOutputStream())) {
+            socket.setSoTimeout(PING_TIMEOUT);
+            socket.connect(IOHelper.resolve(address), PING_TIMEOUT);
+            try (HInput input = new HInput(IOHelper.newInput(socket));
+                 HOutput output = new HOutput(IOHelper.newOutput(socket))) {
                 return version.compareTo(Version.MC172) >= 0 ? modernPing(input, output) : legacyPing(input, output, version.compareTo(Version.MC164) >= 0);
             }
         }
@@ -0,0 +1,165 @@
+package launcher.hasher;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import launcher.helper.CommonHelper;
+import launcher.helper.IOHelper;
+import launcher.helper.SecurityHelper;
+import launcher.serialize.HInput;
+import launcher.serialize.HOutput;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * HashedDir read/write over loopback socket, raw socket streams vs {@link IOHelper#newInput(Socket)}
+ * and {@link IOHelper#newOutput(Socket)}. Tree is 16 x 16 dirs with 16 digested files each.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HashedDirStreamBenchmark {
+    private static final int FANOUT = 16;
+
+    @Benchmark
+    public HashedDir read(ReadState state) throws IOException {
+        HashedDir dir = new HashedDir(state.input);
+        parseAll(dir);
+        return dir;
+    }
+
+    @Benchmark
+    public void write(WriteState state) throws IOException {
+        state.dir.write(state.output);
+        state.output.flush();
+    }
+
+    private static void parseAll(HashedDir dir) {
+        for (HashedEntry entry : dir.map().values()) {
+            if (entry instanceof HashedDir) {
+                parseAll((HashedDir) entry);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Tree {
+        private HashedDir dir;
+        private byte[] bytes;
+
+        @Setup
+        public void setup() throws IOException {
+            Path root = Files.createTempDirectory("hdir");
+            try {
+                for (int i = 0; i < FANOUT; i++) {
+                    for (int j = 0; j < FANOUT; j++) {
+                        Path subdir = Files.createDirectories(root.resolve("dir" + i).resolve("subdir" + j));
+                        for (int k = 0; k < FANOUT; k++) {
+                            IOHelper.write(subdir.resolve("file" + k + ".bin"), SecurityHelper.randomBytes(64));
+                        }
+                    }
+                }
+                dir = new HashedDir(root, null, false, true);
+            } finally {
+                IOHelper.deleteDir(root, true);
+            }
+            bytes = dir.write();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ReadState extends Connection {
+        private HInput input;
+
+        @Setup
+        public void setup(Tree tree) throws IOException {
+            connect();
+            input = new HInput(buffered ? IOHelper.newInput(socket) : socket.getInputStream());
+
+            // Peer sends serialized tree again and again (blocked by socket buffers)
+            OutputStream peerOutput = peer.getOutputStream();
+            startPeer(() -> {
+                while (true) {
+                    peerOutput.write(tree.bytes);
+                }
+            });
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class WriteState extends Connection {
+        private HashedDir dir;
+        private HOutput output;
+
+        @Setup
+        public void setup(Tree tree) throws IOException {
+            connect();
+            dir = tree.dir;
+            output = new HOutput(buffered ? IOHelper.newOutput(socket) : socket.getOutputStream());
+
+            // Peer discards everything
+            InputStream peerInput = peer.getInputStream();
+            startPeer(() -> {
+                byte[] buffer = IOHelper.newBuffer();
+                while (peerInput.read(buffer) >= 0) {
+                    // Discard
+                }
+            });
+        }
+    }
+
+    @State(Scope.Thread)
+    public abstract static class Connection {
+        @Param({"false", "true"})
+        public boolean buffered;
+        protected Socket socket;
+        protected Socket peer;
+
+        protected final void connect() throws IOException {
+            try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+                socket = new Socket(server.getInetAddress(), server.getLocalPort());
+                peer = server.accept();
+            }
+        }
+
+        protected final void startPeer(PeerTask task) {
+            CommonHelper.newThread("Benchmark Peer", true, () -> {
+                try {
+                    task.run();
+                } catch (IOException ignored) {
+                    // Closed on tear down
+                }
+            }).start();
+        }
+
+        @TearDown
+        public void tearDown() throws IOException {
+            socket.close();
+            peer.close();
+        }
+    }
+
+    @FunctionalInterface
+    private interface PeerTask {
+        void run() throws IOException;
+    }
+}
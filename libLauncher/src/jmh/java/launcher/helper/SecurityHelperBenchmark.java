@@ -0,0 +1,82 @@
+package launcher.helper;
+
+import java.security.KeyPair;
+import java.security.Signature;
+import java.security.SignatureException;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.BadPaddingException;
+import javax.crypto.IllegalBlockSizeException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Per-login RSA work: fresh Cipher/Signature instances (as before caching) vs per-thread cached ones.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SecurityHelperBenchmark {
+    private RSAPrivateKey privateKey;
+    private RSAPublicKey publicKey;
+    private byte[] encryptedPassword;
+    private byte[] bytes;
+    private byte[] sign;
+
+    @Setup
+    public void setup() throws IllegalBlockSizeException, BadPaddingException {
+        KeyPair pair = SecurityHelper.genRSAKeyPair();
+        privateKey = (RSAPrivateKey) pair.getPrivate();
+        publicKey = (RSAPublicKey) pair.getPublic();
+        encryptedPassword = SecurityHelper.newRSAEncryptCipher(publicKey).doFinal(IOHelper.encode("password"));
+        bytes = SecurityHelper.randomBytes(256);
+        sign = SecurityHelper.sign(bytes, privateKey);
+    }
+
+    @Benchmark
+    public byte[] decryptFresh() throws IllegalBlockSizeException, BadPaddingException {
+        return SecurityHelper.newRSADecryptCipher(privateKey).doFinal(encryptedPassword);
+    }
+
+    @Benchmark
+    public byte[] decryptCached() throws IllegalBlockSizeException, BadPaddingException {
+        return SecurityHelper.decryptRSA(encryptedPassword, privateKey);
+    }
+
+    @Benchmark
+    public byte[] signFresh() throws SignatureException {
+        Signature signature = SecurityHelper.newRSASignSignature(privateKey);
+        signature.update(bytes);
+        return signature.sign();
+    }
+
+    @Benchmark
+    public byte[] signCached() {
+        return SecurityHelper.sign(bytes, privateKey);
+    }
+
+    @Benchmark
+    public boolean verifyFresh() throws SignatureException {
+        Signature signature = SecurityHelper.newRSAVerifySignature(publicKey);
+        signature.update(bytes);
+        return signature.verify(sign);
+    }
+
+    @Benchmark
+    public boolean verifyCached() throws SignatureException {
+        return SecurityHelper.isValidSign(bytes, sign, publicKey);
+    }
+}
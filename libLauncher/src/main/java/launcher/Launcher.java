@@ -23,7 +23,7 @@ public final class Launcher {
     public static final String BUILD = readBuildNumber();
     //Начиная с 4.0.0 PROTOCOL_MAGIC изменит свою форму
     @LauncherAPI
-    public static final int PROTOCOL_MAGIC = 0x724724_00 + 24;
+    public static final int PROTOCOL_MAGIC = 0x724724_00 + 26;
 
     // Constants
     @LauncherAPI
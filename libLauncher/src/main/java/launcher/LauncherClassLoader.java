@@ -1,9 +1,45 @@
 package launcher;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+
+import launcher.helper.IOHelper;
+import launcher.helper.LogHelper;
 
 public class LauncherClassLoader extends URLClassLoader {
+    private static final String VERSIONS_PREFIX = "META-INF/versions/";
+
+    static {
+        registerAsParallelCapable();
+    }
+
+    // Package index, built on first lookup (null if not indexed)
+    private final boolean indexed;
+    private final Object indexLock = new Object();
+    private volatile Index index;
+    private boolean indexFailed; // Guarded by indexLock
+    private Index failedIndex; // Jars to close, guarded by indexLock
+
     /**
      * Constructs a new URLClassLoader for the given URLs. The URLs will be
      * searched in the order specified for classes and resources after first
@@ -27,6 +63,7 @@ public class LauncherClassLoader extends URLClassLoader {
      */
     public LauncherClassLoader(URL[] urls, ClassLoader parent) {
         super(urls, parent);
+        indexed = false;
     }
 
     /**
@@ -51,10 +88,344 @@ public class LauncherClassLoader extends URLClassLoader {
      */
     public LauncherClassLoader(URL[] urls) {
         super(urls);
+        indexed = false;
+    }
+
+    /**
+     * Constructs a new URLClassLoader for the given jar URLs with package index.
+     * Index maps each package to the jars containing it, so classes and resources
+     * are read directly from these jars, and lookups of packages that are not
+     * contained in any jar fail without scanning each jar. Index is built from the
+     * jars on first lookup, so it always matches the verified jars. If some URL
+     * can't be indexed (directory, remote URL or {@code Class-Path} manifest
+     * attribute), index is not used.
+     *
+     * @param urls    the jar URLs from which to load classes and resources
+     * @param parent  the parent class loader for delegation
+     * @param indexed whether to build package index
+     * @throws NullPointerException if {@code urls} is {@code null}.
+     */
+    @LauncherAPI
+    public LauncherClassLoader(URL[] urls, ClassLoader parent, boolean indexed) {
+        super(urls, parent);
+        this.indexed = indexed;
     }
 
     @Override
     public void addURL(URL url) {
         super.addURL(url);
+        synchronized (indexLock) {
+            Index current = index;
+            if (current == null) {
+                return; // Not built yet (or failed), will include URL on build
+            }
+
+            // Copy on write, lookups are lock-free
+            Index newIndex = new Index(current);
+            try {
+                newIndex.add(url);
+            } catch (IOException e) {
+                LogHelper.error(e);
+                newIndex = null;
+                indexFailed = true;
+                failedIndex = current; // May be still in use, close with loader
+            }
+            index = newIndex;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (indexLock) {
+            Index current = index != null ? index : failedIndex;
+            index = null;
+            indexFailed = true;
+            if (current != null) {
+                current.close();
+            }
+        }
+        super.close();
+    }
+
+    @Override
+    public URL findResource(String name) {
+        Index current = index();
+        if (current == null) {
+            return super.findResource(name);
+        }
+        List<Jar> jars = current.packages.get(getParent(name));
+        if (jars == null) {
+            return null;
+        }
+        if (!isDirect(jars)) {
+            return super.findResource(name);
+        }
+
+        // Resolve directly in jars containing package
+        for (Jar jar : jars) {
+            if (jar.file.getJarEntry(name) != null) {
+                return jar.resourceURL(name);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Enumeration<URL> findResources(String name) throws IOException {
+        Index current = index();
+        if (current == null) {
+            return super.findResources(name);
+        }
+        List<Jar> jars = current.packages.get(getParent(name));
+        if (jars == null) {
+            return Collections.emptyEnumeration();
+        }
+        if (!isDirect(jars)) {
+            return super.findResources(name);
+        }
+
+        // Resolve directly in jars containing package
+        List<URL> urls = new ArrayList<>(1);
+        for (Jar jar : jars) {
+            if (jar.file.getJarEntry(name) != null) {
+                URL url = jar.resourceURL(name);
+                if (url != null) {
+                    urls.add(url);
+                }
+            }
+        }
+        return Collections.enumeration(urls);
+    }
+
+    @LauncherAPI
+    public boolean isIndexed() {
+        return index() != null;
+    }
+
+    @Override
+    protected Class<?> findClass(String name) throws ClassNotFoundException {
+        Index current = index();
+        if (current == null) {
+            return super.findClass(name);
+        }
+        String path = name.replace('.', '/').concat(".class");
+        List<Jar> jars = current.packages.get(getParent(path));
+        if (jars == null) {
+            throw new ClassNotFoundException(name);
+        }
+        if (!isDirect(jars)) {
+            return super.findClass(name);
+        }
+
+        // Define class directly from jar containing package
+        for (Jar jar : jars) {
+            JarEntry entry = jar.file.getJarEntry(path);
+            if (entry != null) {
+                try {
+                    return defineClass(name, jar, entry);
+                } catch (IOException e) {
+                    throw new ClassNotFoundException(name, e);
+                }
+            }
+        }
+        throw new ClassNotFoundException(name);
+    }
+
+    private Class<?> defineClass(String name, Jar jar, JarEntry entry) throws IOException {
+        byte[] bytes;
+        try (InputStream input = jar.file.getInputStream(entry)) {
+            if (entry.getSize() >= 0) {
+                bytes = new byte[(int) entry.getSize()];
+                IOHelper.read(input, bytes);
+            } else {
+                bytes = IOHelper.read(input);
+            }
+        }
+
+        // Define package (same as URLClassLoader does)
+        int packageEnd = name.lastIndexOf('.');
+        if (packageEnd >= 0) {
+            String packageName = name.substring(0, packageEnd);
+            Package pkg = getPackage(packageName);
+            if (pkg == null) {
+                try {
+                    Manifest manifest = jar.file.getManifest();
+                    if (manifest == null) {
+                        definePackage(packageName, null, null, null, null, null, null, null);
+                    } else {
+                        definePackage(packageName, manifest, jar.url);
+                    }
+                } catch (IllegalArgumentException ignored) {
+                    // Defined concurrently
+                }
+            } else if (pkg.isSealed()) {
+                if (!pkg.isSealed(jar.url)) {
+                    throw new SecurityException(String.format("Sealing violation: package '%s' is sealed", packageName));
+                }
+            } else if (isSealed(packageName, jar.file.getManifest())) {
+                throw new SecurityException(String.format("Sealing violation: can't seal package '%s': already loaded", packageName));
+            }
+        }
+
+        // Code signers are available after entry was fully read
+        return defineClass(name, bytes, 0, bytes.length, new CodeSource(jar.url, entry.getCodeSigners()));
+    }
+
+    private Index index() {
+        if (!indexed) {
+            return null;
+        }
+        Index current = index;
+        if (current != null) {
+            return current;
+        }
+
+        // Build index on first lookup
+        synchronized (indexLock) {
+            if (index == null && !indexFailed) {
+                Index newIndex = new Index();
+                try {
+                    for (URL url : getURLs()) {
+                        newIndex.add(url);
+                    }
+                    index = newIndex;
+                } catch (IOException e) {
+                    LogHelper.error(e);
+                    newIndex.close();
+                    indexFailed = true;
+                }
+            }
+            return index;
+        }
+    }
+
+    private static void addPackages(Set<String> packages, String name) {
+        if (name.startsWith(VERSIONS_PREFIX)) { // Multi-release jar entry
+            int versionEnd = name.indexOf('/', VERSIONS_PREFIX.length());
+            if (versionEnd >= 0) {
+                addPackages(packages, name.substring(versionEnd + 1));
+            }
+        }
+
+        // Add entry package and all parent packages (for directory lookups)
+        packages.add("");
+        for (int i = name.indexOf('/'); i >= 0; i = name.indexOf('/', i + 1)) {
+            packages.add(name.substring(0, i));
+        }
+    }
+
+    private static boolean isSealed(String packageName, Manifest manifest) {
+        if (manifest == null) {
+            return false;
+        }
+
+        // Package attribute overrides main attribute (same as URLClassLoader does)
+        Attributes attributes = manifest.getAttributes(packageName.replace('.', '/').concat("/"));
+        String sealed = attributes == null ? null : attributes.getValue(Attributes.Name.SEALED);
+        if (sealed == null) {
+            sealed = manifest.getMainAttributes().getValue(Attributes.Name.SEALED);
+        }
+        return Boolean.parseBoolean(sealed);
+    }
+
+    private static String getParent(String name) {
+        int end = name.endsWith("/") ? name.length() - 1 : name.length();
+        int parentEnd = name.lastIndexOf('/', end - 1);
+        return parentEnd < 0 ? "" : name.substring(0, parentEnd);
+    }
+
+    private static boolean isDirect(List<Jar> jars) {
+        for (Jar jar : jars) {
+            if (!jar.direct) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Path toJarPath(URL url) throws IOException {
+        if (!"file".equals(url.getProtocol()) || url.getPath().endsWith("/")) {
+            throw new IOException(String.format("Can't index non-jar URL: '%s'", url));
+        }
+        Path path = Paths.get(IOHelper.toURI(url));
+        if (!IOHelper.isFile(path)) {
+            throw new IOException(String.format("Can't index non-jar URL: '%s'", url));
+        }
+        return path;
+    }
+
+    private static final class Index {
+        private final List<Jar> jars;
+        private final Map<String, List<Jar>> packages;
+
+        private Index() {
+            jars = new ArrayList<>(16);
+            packages = new HashMap<>(256);
+        }
+
+        private Index(Index index) {
+            jars = new ArrayList<>(index.jars);
+            packages = new HashMap<>(index.packages.size());
+            for (Map.Entry<String, List<Jar>> entry : index.packages.entrySet()) {
+                packages.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+            }
+        }
+
+        private void add(URL url) throws IOException {
+            Path path = toJarPath(url);
+            JarFile file = new JarFile(path.toFile());
+            try {
+                Manifest manifest = file.getManifest();
+                Attributes attributes = manifest == null ? null : manifest.getMainAttributes();
+                if (attributes != null && attributes.containsKey(Attributes.Name.CLASS_PATH)) {
+                    throw new IOException(String.format("Can't index jar with Class-Path attribute: '%s'", path));
+                }
+
+                // Collect entry packages (in classpath order)
+                Set<String> jarPackages = new HashSet<>(64);
+                Enumeration<JarEntry> entries = file.entries();
+                while (entries.hasMoreElements()) {
+                    addPackages(jarPackages, entries.nextElement().getName());
+                }
+                Jar jar = new Jar(url, file, attributes == null || !Boolean.parseBoolean(attributes.getValue("Multi-Release")));
+                jars.add(jar);
+                for (String jarPackage : jarPackages) {
+                    packages.computeIfAbsent(jarPackage, k -> new ArrayList<>(1)).add(jar);
+                }
+            } catch (IOException | RuntimeException e) {
+                file.close();
+                throw e;
+            }
+        }
+
+        private void close() {
+            for (Jar jar : jars) {
+                try {
+                    jar.file.close();
+                } catch (IOException e) {
+                    LogHelper.error(e);
+                }
+            }
+        }
+    }
+
+    private static final class Jar {
+        private final URL url;
+        private final JarFile file;
+        private final boolean direct; // Multi-release jars are resolved by URLClassLoader
+
+        private Jar(URL url, JarFile file, boolean direct) {
+            this.url = url;
+            this.file = file;
+            this.direct = direct;
+        }
+
+        private URL resourceURL(String name) {
+            try {
+                return new URL("jar:" + url + "!/" + new URI(null, null, name, null).getRawPath());
+            } catch (MalformedURLException | URISyntaxException e) {
+                return null;
+            }
+        }
     }
 }
@@ -1,6 +1,8 @@
 package launcher.hasher;
 
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.nio.file.ClosedWatchServiceException;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Path;
@@ -11,9 +13,13 @@ import java.nio.file.WatchEvent.Kind;
 import java.nio.file.WatchKey;
 import java.nio.file.WatchService;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
 import java.util.Deque;
-import java.util.LinkedList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 import launcher.LauncherAPI;
 import launcher.hasher.HashedEntry.Type;
@@ -21,6 +27,7 @@ import launcher.helper.IOHelper;
 import launcher.helper.JVMHelper;
 import launcher.helper.JVMHelper.OS;
 import launcher.helper.LogHelper;
+import launcher.helper.VerifyHelper;
 
 public final class DirWatcher implements Runnable, AutoCloseable {
     @SuppressWarnings("unused")
@@ -30,6 +37,12 @@ public final class DirWatcher implements Runnable, AutoCloseable {
     private static final Kind<?>[] KINDS = {
             StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE
     };
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+    @LauncherAPI
+    public static final long DEBOUNCE = VerifyHelper.verifyLong(
+            Long.parseUnsignedLong(System.getProperty("launcher.dirwatcher.debounce", Long.toString(50L))),
+            VerifyHelper.L_NOT_NEGATIVE, "launcher.dirwatcher.debounce can't be < 0");
+    private static final long MAX_BATCH_NANOS = TimeUnit.MILLISECONDS.toNanos(Math.max(DEBOUNCE * 20L, 1000L));
 
     // Instance
     private final Path dir;
@@ -38,6 +51,11 @@ public final class DirWatcher implements Runnable, AutoCloseable {
     private final WatchService service;
     private final boolean digest;
 
+    // State
+    private final Map<Path, Kind<?>> events = new LinkedHashMap<>(16);
+    private volatile long eventsCount;
+    private volatile long cpuTime;
+
     @LauncherAPI
     public DirWatcher(Path dir, HashedDir hdir, FileNameMatcher matcher, boolean digest) throws IOException {
         this.dir = Objects.requireNonNull(dir, "dir");
@@ -55,6 +73,17 @@ public final class DirWatcher implements Runnable, AutoCloseable {
     @LauncherAPI
     public void close() throws IOException {
         service.close();
+        LogHelper.debug("DirWatcher %s: %d events, %d ms CPU", dir, eventsCount, TimeUnit.NANOSECONDS.toMillis(cpuTime));
+    }
+
+    @LauncherAPI
+    public long getCpuTime() {
+        return cpuTime;
+    }
+
+    @LauncherAPI
+    public long getEventsCount() {
+        return eventsCount;
     }
 
     @Override
@@ -69,7 +98,7 @@ public final class DirWatcher implements Runnable, AutoCloseable {
         }
     }
 
-    private void processKey(WatchKey key) throws IOException {
+    private void pollEvents(WatchKey key) throws IOException {
         Path watchDir = (Path) key.watchable();
         for (WatchEvent<?> event : key.pollEvents()) {
             Kind<?> kind = event.kind();
@@ -80,31 +109,57 @@ public final class DirWatcher implements Runnable, AutoCloseable {
                 throw new IOException("Overflow");
             }
 
-            // Resolve paths and verify is not exclusion
+            // Coalesce events (create and delete are stronger than modify)
+            eventsCount++;
             Path path = watchDir.resolve((Path) event.context());
-            LogHelper.subInfo("DirWatcher event %s", path.toString());
-            Deque<String> stringPath = toPath(dir.relativize(path));
-            if (matcher != null && !matcher.shouldVerify(stringPath)) {
-                continue; // Exclusion; should not be verified
-            }
+            events.merge(path, kind, (oldKind, newKind) -> newKind.equals(StandardWatchEventKinds.ENTRY_MODIFY) ? oldKind : newKind);
+        }
+        key.reset();
+    }
 
-            // Verify is REALLY modified (not just attributes)
-            if (kind.equals(StandardWatchEventKinds.ENTRY_MODIFY)) {
-                HashedEntry entry = hdir.resolve(stringPath);
-                if (entry != null && (entry.getType() != Type.FILE || ((HashedFile) entry).isSame(path, digest))) {
-                    continue; // Modified attributes, not need to worry :D
-                }
-            }
+    private void processEvent(Path path, Kind<?> kind) throws IOException {
+        // Resolve path and verify is not exclusion
+        LogHelper.subDebug("DirWatcher event %s: %s", kind, path);
+        Deque<String> stringPath = toPath(dir.relativize(path));
+        if (matcher != null && !matcher.shouldVerify(stringPath)) {
+            return; // Exclusion; should not be verified
+        }
 
-            // Forbidden modification!
-            throw new SecurityException(String.format("Forbidden modification (%s, %d times): '%s'", kind, event.count(), path));
+        // Verify is REALLY modified (not just attributes)
+        if (kind.equals(StandardWatchEventKinds.ENTRY_MODIFY)) {
+            HashedEntry entry = hdir.resolve(stringPath);
+            if (entry != null && (entry.getType() != Type.FILE || ((HashedFile) entry).isSame(path, digest))) {
+                return; // Modified attributes, not need to worry :D
+            }
         }
-        key.reset();
+
+        // Forbidden modification!
+        throw new SecurityException(String.format("Forbidden modification (%s): '%s'", kind, path));
     }
 
     private void processLoop() throws IOException, InterruptedException {
+        boolean cpuTimeSupported = THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() && THREAD_MX_BEAN.isThreadCpuTimeEnabled();
         while (!Thread.interrupted()) {
-            processKey(service.take());
+            WatchKey key = service.take();
+            long startCpuTime = cpuTimeSupported ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : 0L;
+
+            // Collect events until quiet (or batch is too long)
+            long batchEnd = System.nanoTime() + MAX_BATCH_NANOS;
+            do {
+                pollEvents(key);
+            } while (System.nanoTime() < batchEnd && (key = service.poll(DEBOUNCE, TimeUnit.MILLISECONDS)) != null);
+
+            // Process coalesced events
+            try {
+                for (Entry<Path, Kind<?>> event : events.entrySet()) {
+                    processEvent(event.getKey(), event.getValue());
+                }
+            } finally {
+                events.clear();
+                if (cpuTimeSupported) {
+                    cpuTime += THREAD_MX_BEAN.getCurrentThreadCpuTime() - startCpuTime;
+                }
+            }
         }
     }
 
@@ -112,8 +167,8 @@ public final class DirWatcher implements Runnable, AutoCloseable {
         LogHelper.error(e);
     }
 
-    private static Deque<String> toPath(Iterable<Path> path) {
-        Deque<String> result = new LinkedList<>();
+    private static Deque<String> toPath(Path path) {
+        Deque<String> result = new ArrayDeque<>(path.getNameCount());
         for (Path pe : path) {
             result.add(pe.toString());
         }
@@ -121,7 +176,7 @@ public final class DirWatcher implements Runnable, AutoCloseable {
     }
 
     private final class RegisterFileVisitor extends SimpleFileVisitor<Path> {
-        private final Deque<String> path = new LinkedList<>();
+        private final Deque<String> path = new ArrayDeque<>(16);
 
         @Override
         public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
@@ -136,7 +191,7 @@ public final class DirWatcher implements Runnable, AutoCloseable {
         public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
             FileVisitResult result = super.preVisitDirectory(dir, attrs);
             if (DirWatcher.this.dir.equals(dir)) {
-                LogHelper.subInfo("DirWatcher register V1 %s %s", dir.toString(), result.toString());
+                LogHelper.subDebug("DirWatcher register V1 %s %s", dir.toString(), result.toString());
                 dir.register(service, KINDS);
                 return result;
             }
@@ -144,12 +199,12 @@ public final class DirWatcher implements Runnable, AutoCloseable {
             // Maybe it's unnecessary to go deeper
             path.add(IOHelper.getFileName(dir));
             if (matcher != null && !matcher.shouldVerify(path)) {
-                LogHelper.subInfo("DirWatcher skipped %s %s", dir.toString(), result.toString());
+                LogHelper.subDebug("DirWatcher skipped %s %s", dir.toString(), result.toString());
                 return FileVisitResult.SKIP_SUBTREE;
             }
 
             // Register
-            LogHelper.subInfo("DirWatcher register V2 %s %s", dir.toString(), result.toString());
+            LogHelper.subDebug("DirWatcher register V2 %s %s", dir.toString(), result.toString());
             dir.register(service, KINDS);
             return result;
         }
@@ -1,7 +1,9 @@
 package launcher.hasher;
 
-import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 
 import launcher.LauncherAPI;
 
@@ -13,21 +15,33 @@ public final class FileNameMatcher {
     private final String[] verify;
     private final String[] exclusions;
 
+    // Compiled entries (path entry matches if any pattern ends with it)
+    private final Set<String> updateSuffixes;
+    private final Set<String> verifySuffixes;
+    private final Set<String> exclusionsSuffixes;
+
     @LauncherAPI
     public FileNameMatcher(String[] update, String[] verify, String[] exclusions) {
         this.update = update;
         this.verify = verify;
         this.exclusions = exclusions;
+
+        // Compile all suffixes once
+        verifySuffixes = compile(verify);
+        exclusionsSuffixes = compile(exclusions);
+        Set<String> updateSuffixes = new HashSet<>(compile(update));
+        updateSuffixes.addAll(verifySuffixes);
+        this.updateSuffixes = updateSuffixes.isEmpty() ? Collections.emptySet() : updateSuffixes;
     }
 
     @LauncherAPI
     public boolean shouldUpdate(Collection<String> path) {
-        return (anyMatch(update, path) || anyMatch(verify, path)) && !anyMatch(exclusions, path);
+        return anyMatch(updateSuffixes, path) && !anyMatch(exclusionsSuffixes, path);
     }
 
     @LauncherAPI
     public boolean shouldVerify(Collection<String> path) {
-        return anyMatch(verify, path) && !anyMatch(exclusions, path);
+        return anyMatch(verifySuffixes, path) && !anyMatch(exclusionsSuffixes, path);
     }
 
     @LauncherAPI
@@ -35,14 +49,30 @@ public final class FileNameMatcher {
         return new FileNameMatcher(NO_ENTRIES, verify, exclusions);
     }
 
-    private static boolean anyMatch(String[] entries, Collection<String> path) {
-        return path.stream().anyMatch(e -> Arrays.stream(entries).anyMatch(p -> p.endsWith(e)));
-        //for(String p : path)
-        //{
-        //    for(String e : entries)
-        //    {
-        //        if(p.endsWith(e)) return true;
-        //    }
-        //}
+    private static boolean anyMatch(Set<String> suffixes, Collection<String> path) {
+        if (suffixes.isEmpty()) {
+            return false;
+        }
+        for (String e : path) {
+            if (suffixes.contains(e)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Set<String> compile(String[] entries) {
+        if (entries.length == 0) {
+            return Collections.emptySet();
+        }
+
+        // Every suffix of every entry (including empty one)
+        Set<String> suffixes = new HashSet<>(entries.length << 3);
+        for (String p : entries) {
+            for (int i = 0; i <= p.length(); i++) {
+                suffixes.add(p.substring(i));
+            }
+        }
+        return suffixes;
     }
 }
@@ -1,27 +1,50 @@
 package launcher.hasher;
 
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
-import java.util.Collections;
+import java.security.MessageDigest;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Deque;
-import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.RecursiveAction;
 
 import launcher.LauncherAPI;
 import launcher.helper.IOHelper;
-import launcher.helper.VerifyHelper;
+import launcher.helper.SecurityHelper;
 import launcher.serialize.HInput;
 import launcher.serialize.HOutput;
 import launcher.serialize.stream.EnumSerializer;
 
 public final class HashedDir extends HashedEntry {
-    private final Map<String, HashedEntry> map = new HashMap<>(32);
+    private static final String[] NO_NAMES = new String[0];
+    private static final HashedEntry[] NO_ENTRIES = new HashedEntry[0];
+    private static final int FORK_THRESHOLD = 64; // Entries, compare larger subtrees in parallel
+
+    // Entries sorted by name (arrays instead of map, saves a lot on huge trees)
+    private String[] names = NO_NAMES;
+    private HashedEntry[] entries = NO_ENTRIES;
+    private int count;
+
+    // Serialized entries, parsed on first access
+    private volatile ByteBuffer source;
+    private volatile byte[] hash; // Merkle hash of entries
+    private volatile int length = -1; // Serialized entries length
 
     @LauncherAPI
     public HashedDir() {
@@ -30,31 +53,24 @@ public final class HashedDir extends HashedEntry {
     @LauncherAPI
     public HashedDir(Path dir, FileNameMatcher matcher, boolean allowSymlinks, boolean digest) throws IOException {
         IOHelper.walk(dir, new HashFileVisitor(dir, matcher, allowSymlinks, digest), true);
+        seal();
     }
 
     @LauncherAPI
     public HashedDir(HInput input) throws IOException {
-        int entriesCount = input.readLength(0);
-        for (int i = 0; i < entriesCount; i++) {
-            String name = IOHelper.verifyFileName(input.readString(255));
-
-            // Read entry
-            HashedEntry entry;
-            Type type = Type.read(input);
-            switch (type) {
-                case FILE:
-                    entry = new HashedFile(input);
-                    break;
-                case DIR:
-                    entry = new HashedDir(input);
-                    break;
-                default:
-                    throw new AssertionError("Unsupported hashed entry type: " + type.name());
-            }
+        this(input.readByteBuffer(0));
+        parse(); // Verify top-level entries early, subdirs are still lazy
+    }
 
-            // Try add entry to map
-            VerifyHelper.putIfAbsent(map, name, entry, String.format("Duplicate dir entry: '%s'", name));
+    private HashedDir(ByteBuffer source) throws IOException {
+        if (source.remaining() < HashedFile.DIGEST_ALGO.bytes) {
+            throw new EOFException("Missing hashed dir hash");
         }
+
+        // Read hash, entries are parsed later
+        hash = new byte[HashedFile.DIGEST_ALGO.bytes];
+        source.duplicate().get(hash);
+        this.source = source;
     }
 
     @Override
@@ -64,18 +80,37 @@ public final class HashedDir extends HashedEntry {
 
     @Override
     public long size() {
-        return map.values().stream().mapToLong(HashedEntry::size).sum();
+        ensureParsed();
+        long size = 0L;
+        for (int i = 0; i < count; i++) {
+            size += entries[i].size();
+        }
+        return size;
+    }
+
+    @Override
+    public int sizeHint() {
+        int length = entriesLength();
+        return HOutput.varIntLength(length) + length;
     }
 
     @Override
     public void write(HOutput output) throws IOException {
-        Set<Entry<String, HashedEntry>> entries = map.entrySet();
-        output.writeLength(entries.size(), 0);
-        for (Entry<String, HashedEntry> mapEntry : entries) {
-            output.writeString(mapEntry.getKey(), 255);
+        ByteBuffer source = this.source;
+        if (source != null) { // Not parsed, write as-is
+            output.writeByteBuffer(source, 0);
+            return;
+        }
+
+        // Write hash and entries
+        output.writeLength(entriesLength(), 0);
+        output.writeByteArray(hash(), -HashedFile.DIGEST_ALGO.bytes);
+        output.writeLength(count, 0);
+        for (int i = 0; i < count; i++) {
+            output.writeString(names[i], 255);
 
             // Write hashed entry
-            HashedEntry entry = mapEntry.getValue();
+            HashedEntry entry = entries[i];
             EnumSerializer.write(output, entry.getType());
             entry.write(output);
         }
@@ -83,24 +118,38 @@ public final class HashedDir extends HashedEntry {
 
     @LauncherAPI
     public Diff diff(HashedDir other, FileNameMatcher matcher) {
-        HashedDir mismatch = sideDiff(other, matcher, new LinkedList<>(), true);
-        HashedDir extra = other.sideDiff(this, matcher, new LinkedList<>(), false);
-        return new Diff(mismatch, extra);
+        DiffTask task = new DiffTask(this, other, matcher, new ArrayDeque<>(), true);
+        task.invoke();
+        return new Diff(task.mismatch, task.extra);
+    }
+
+    @LauncherAPI
+    public byte[] getHash() {
+        return hash().clone();
     }
 
     @LauncherAPI
     public HashedEntry getEntry(String name) {
-        return map.get(name);
+        ensureParsed();
+        int index = Arrays.binarySearch(names, 0, count, name);
+        return index >= 0 ? entries[index] : null;
     }
 
     @LauncherAPI
     public boolean isEmpty() {
-        return map.isEmpty();
+        ensureParsed();
+        return count == 0;
+    }
+
+    @LauncherAPI
+    public boolean isSame(HashedDir o) {
+        return this == o || Arrays.equals(hash(), o.hash());
     }
 
     @LauncherAPI
     public Map<String, HashedEntry> map() {
-        return Collections.unmodifiableMap(map);
+        ensureParsed();
+        return new EntriesMap();
     }
 
     @LauncherAPI
@@ -108,7 +157,7 @@ public final class HashedDir extends HashedEntry {
         HashedEntry current = this;
         for (String pathEntry : path) {
             if (current instanceof HashedDir) {
-                current = ((HashedDir) current).map.get(pathEntry);
+                current = ((HashedDir) current).getEntry(pathEntry);
                 continue;
             }
             return null;
@@ -116,59 +165,200 @@ public final class HashedDir extends HashedEntry {
         return current;
     }
 
-    private HashedDir sideDiff(HashedDir other, FileNameMatcher matcher, Deque<String> path, boolean mismatchList) {
-        HashedDir diff = new HashedDir();
-        for (Entry<String, HashedEntry> mapEntry : map.entrySet()) {
-            String name = mapEntry.getKey();
-            HashedEntry entry = mapEntry.getValue();
-            path.add(name);
+    private void add(String name, HashedEntry entry) {
+        if (count == names.length) {
+            int capacity = Math.max(4, count << 1);
+            names = Arrays.copyOf(names, capacity);
+            entries = Arrays.copyOf(entries, capacity);
+        }
+        names[count] = name;
+        entries[count] = entry;
+        count++;
 
-            // Should update?
-            boolean shouldUpdate = matcher == null || matcher.shouldUpdate(path);
+        // Invalidate cached hash and length
+        hash = null;
+        length = -1;
+    }
 
-            // Not found or of different type
-            Type type = entry.getType();
-            HashedEntry otherEntry = other.map.get(name);
-            if (otherEntry == null || otherEntry.getType() != type) {
-                if (shouldUpdate || mismatchList && otherEntry == null) {
-                    diff.map.put(name, entry);
-
-                    // Should be deleted!
-                    if (!mismatchList) {
-                        entry.flag = true;
-                    }
+    private byte[] hash() {
+        byte[] hash = this.hash;
+        if (hash != null) {
+            return hash;
+        }
+
+        // Compute hash from entries (and subdirs hashes)
+        MessageDigest digest = SecurityHelper.newDigest(HashedFile.DIGEST_ALGO);
+        for (int i = 0; i < count; i++) {
+            byte[] name = IOHelper.encode(names[i]);
+            digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(name.length).array());
+            digest.update(name);
+
+            // Hash entry
+            HashedEntry entry = entries[i];
+            digest.update((byte) entry.getType().getNumber());
+            if (entry instanceof HashedDir) {
+                digest.update(((HashedDir) entry).hash());
+            } else {
+                ((HashedFile) entry).updateHash(digest);
+            }
+        }
+        hash = digest.digest();
+        this.hash = hash;
+        return hash;
+    }
+
+    private boolean isLarge() {
+        ByteBuffer source = this.source;
+        return source == null ? count >= FORK_THRESHOLD : source.remaining() >= FORK_THRESHOLD * 32; // ~32 bytes per entry
+    }
+
+    private void ensureParsed() {
+        if (source != null) {
+            try {
+                parse();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private int entriesLength() {
+        ByteBuffer source = this.source;
+        if (source != null) {
+            return source.remaining();
+        }
+        int length = this.length;
+        if (length >= 0) {
+            return length;
+        }
+
+        // Compute serialized length (subdirs lengths are cached too)
+        length = HashedFile.DIGEST_ALGO.bytes + HOutput.varIntLength(count);
+        for (int i = 0; i < count; i++) {
+            int nameLength = encodedLength(names[i]);
+            length += HOutput.varIntLength(nameLength) + nameLength;
+
+            // Entry length
+            HashedEntry entry = entries[i];
+            length += HOutput.varIntLength(entry.getType().getNumber());
+            if (entry instanceof HashedDir) {
+                int entriesLength = ((HashedDir) entry).entriesLength();
+                length += HOutput.varIntLength(entriesLength) + entriesLength;
+            } else {
+                length += ((HashedFile) entry).length();
+            }
+        }
+        this.length = length;
+        return length;
+    }
+
+    private synchronized void parse() throws IOException {
+        ByteBuffer source = this.source;
+        if (source == null) {
+            return; // Already parsed
+        }
+
+        // Read entries from backing array
+        boolean parsed = false;
+        try (HInput input = new HInput(source.array(), source.arrayOffset() + source.position(), source.remaining())) {
+            input.readByteArray(-HashedFile.DIGEST_ALGO.bytes); // Hash was read in constructor
+            int entriesCount = input.readLength(0);
+            names = new String[entriesCount];
+            entries = new HashedEntry[entriesCount];
+            for (int i = 0; i < entriesCount; i++) {
+                String name = IOHelper.verifyFileName(input.readString(255)).intern();
+
+                // Read entry
+                HashedEntry entry;
+                Type type = Type.read(input);
+                switch (type) {
+                    case FILE:
+                        entry = new HashedFile(input);
+                        break;
+                    case DIR:
+                        entry = new HashedDir(input.readByteBuffer(0));
+                        break;
+                    default:
+                        throw new AssertionError("Unsupported hashed entry type: " + type.name());
                 }
-                path.removeLast();
-                continue;
+                names[count] = name;
+                entries[count] = entry;
+                count++;
+            }
+            if (input.stream.available() > 0) {
+                throw new IOException("Trailing bytes in hashed dir");
+            }
+            seal();
+            length = source.remaining(); // Hash was read in constructor
+            parsed = true;
+        } finally {
+            if (!parsed) { // Don't leave partially parsed entries
+                names = NO_NAMES;
+                entries = NO_ENTRIES;
+                count = 0;
             }
+        }
+        this.source = null;
+    }
 
-            // Compare entries based on type
-            switch (type) {
-                case FILE:
-                    HashedFile file = (HashedFile) entry;
-                    HashedFile otherFile = (HashedFile) otherEntry;
-                    if (mismatchList && shouldUpdate && !file.isSame(otherFile)) {
-                        diff.map.put(name, entry);
-                    }
-                    break;
-                case DIR:
-                    HashedDir dir = (HashedDir) entry;
-                    HashedDir otherDir = (HashedDir) otherEntry;
-                    if (mismatchList || shouldUpdate) { // Maybe isn't need to go deeper?
-                        HashedDir mismatch = dir.sideDiff(otherDir, matcher, path, mismatchList);
-                        if (!mismatch.isEmpty()) {
-                            diff.map.put(name, mismatch);
-                        }
-                    }
-                    break;
-                default:
-                    throw new AssertionError("Unsupported hashed entry type: " + type.name());
+    private void seal() throws IOException {
+        // Sort entries if added out of order
+        boolean sorted = true;
+        for (int i = 1; i < count && sorted; i++) {
+            sorted = names[i - 1].compareTo(names[i]) < 0;
+        }
+        if (!sorted) {
+            String[] unsortedNames = names;
+            HashedEntry[] unsortedEntries = entries;
+            Integer[] order = new Integer[count];
+            for (int i = 0; i < count; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparing(i -> unsortedNames[i]));
+
+            // Rearrange entries
+            names = new String[count];
+            entries = new HashedEntry[count];
+            for (int i = 0; i < count; i++) {
+                names[i] = unsortedNames[order[i]];
+                entries[i] = unsortedEntries[order[i]];
             }
 
-            // Remove this path entry
-            path.removeLast();
+            // Verify no duplicates
+            for (int i = 1; i < count; i++) {
+                if (names[i - 1].equals(names[i])) {
+                    throw new IOException(String.format("Duplicate dir entry: '%s'", names[i]));
+                }
+            }
+        }
+        trim();
+    }
+
+    private void trim() {
+        if (count < names.length) {
+            names = count == 0 ? NO_NAMES : Arrays.copyOf(names, count);
+            entries = count == 0 ? NO_ENTRIES : Arrays.copyOf(entries, count);
+        }
+    }
+
+    private static int encodedLength(String s) {
+        // UTF-8 length, same as HOutput.writeString() encodes (malformed surrogates are replaced with '?')
+        int length = s.length();
+        for (int i = 0; i < s.length(); i++) {
+            char ch = s.charAt(i);
+            if (ch < 0x80) {
+                continue;
+            }
+            if (ch < 0x800) {
+                length++;
+            } else if (!Character.isSurrogate(ch)) {
+                length += 2;
+            } else if (Character.isHighSurrogate(ch) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+                length += 2; // 4 bytes for surrogate pair
+                i++;
+            }
         }
-        return diff;
+        return length;
     }
 
     private final class HashFileVisitor extends SimpleFileVisitor<Path> {
@@ -197,8 +387,9 @@ public final class HashedDir extends HashedEntry {
             }
 
             // Add directory to parent
+            current.seal();
             HashedDir parent = stack.removeLast();
-            parent.map.put(path.removeLast(), current);
+            parent.add(path.removeLast(), current);
             current = parent;
 
             // We're done
@@ -221,7 +412,7 @@ public final class HashedDir extends HashedEntry {
             // Add child
             stack.add(current);
             current = new HashedDir();
-            path.add(IOHelper.getFileName(dir));
+            path.add(IOHelper.getFileName(dir).intern());
 
             // We're done
             return result;
@@ -235,13 +426,229 @@ public final class HashedDir extends HashedEntry {
             }
 
             // Add file (may be unhashed, if exclusion)
-            path.add(IOHelper.getFileName(file));
+            path.add(IOHelper.getFileName(file).intern());
             boolean doDigest = digest && (matcher == null || matcher.shouldUpdate(path));
-            current.map.put(path.removeLast(), new HashedFile(file, attrs.size(), doDigest));
+            current.add(path.removeLast(), new HashedFile(file, attrs.size(), doDigest));
             return super.visitFile(file, attrs);
         }
     }
 
+    private static final class DiffTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final HashedDir dir;
+        private final HashedDir other;
+        private final FileNameMatcher matcher;
+        private final Deque<String> path;
+        private final boolean extraEnabled;
+
+        // Results
+        private final HashedDir mismatch = new HashedDir();
+        private final HashedDir extra = new HashedDir();
+        private List<Pending> pending; // Keeps sorted order once subtree was forked
+
+        private DiffTask(HashedDir dir, HashedDir other, FileNameMatcher matcher, Deque<String> path, boolean extraEnabled) {
+            this.dir = dir;
+            this.other = other;
+            this.matcher = matcher;
+            this.path = path;
+            this.extraEnabled = extraEnabled;
+        }
+
+        @Override
+        protected void compute() {
+            if (dir.isSame(other)) {
+                return; // Same hash, skip subtree (without parsing it)
+            }
+            dir.ensureParsed();
+            other.ensureParsed();
+
+            // Merge sorted entries in single pass
+            int i = 0;
+            int j = 0;
+            while (i < dir.count || j < other.count) {
+                int compare = i >= dir.count ? 1 : j >= other.count ? -1 : dir.names[i].compareTo(other.names[j]);
+                if (compare < 0) { // Missing, always update
+                    emit(dir.names[i], dir.entries[i], null);
+                    i++;
+                } else if (compare > 0) { // Extra, should be deleted
+                    String name = other.names[j];
+                    if (extraEnabled && shouldUpdate(name)) {
+                        HashedEntry otherEntry = other.entries[j];
+                        otherEntry.flag = true;
+                        emit(name, null, otherEntry);
+                    }
+                    j++;
+                } else {
+                    compareEntries(dir.names[i], dir.entries[i], other.entries[j]);
+                    i++;
+                    j++;
+                }
+            }
+
+            // Wait for forked subtrees
+            if (pending != null) {
+                for (Pending entry : pending) {
+                    if (entry.task != null) {
+                        entry.task.join();
+                        add(entry.name, entry.task);
+                    } else {
+                        add(entry.name, entry.mismatch, entry.extra);
+                    }
+                }
+            }
+            mismatch.trim();
+            extra.trim();
+        }
+
+        private void compareEntries(String name, HashedEntry entry, HashedEntry otherEntry) {
+            Type type = entry.getType();
+            if (otherEntry.getType() != type) {
+                if (shouldUpdate(name)) {
+                    if (extraEnabled) {
+                        otherEntry.flag = true;
+                    }
+                    emit(name, entry, extraEnabled ? otherEntry : null);
+                }
+                return;
+            }
+
+            // Compare entries based on type
+            switch (type) {
+                case FILE:
+                    if (!((HashedFile) entry).isSame((HashedFile) otherEntry) && shouldUpdate(name)) {
+                        emit(name, entry, null);
+                    }
+                    break;
+                case DIR:
+                    HashedDir subDir = (HashedDir) entry;
+                    HashedDir otherSubDir = (HashedDir) otherEntry;
+                    boolean subExtraEnabled = extraEnabled && shouldUpdate(name); // Maybe isn't need to go deeper?
+
+                    // Compare subtrees (in parallel if large)
+                    path.add(name);
+                    if (subDir.isLarge() || otherSubDir.isLarge()) {
+                        DiffTask task = new DiffTask(subDir, otherSubDir, matcher, new ArrayDeque<>(path), subExtraEnabled);
+                        task.fork();
+                        if (pending == null) {
+                            pending = new ArrayList<>(4);
+                        }
+                        pending.add(new Pending(name, task, null, null));
+                    } else {
+                        DiffTask task = new DiffTask(subDir, otherSubDir, matcher, path, subExtraEnabled);
+                        task.invoke();
+                        if (pending == null) {
+                            add(name, task);
+                        } else {
+                            pending.add(new Pending(name, task, null, null));
+                        }
+                    }
+                    path.removeLast();
+                    break;
+                default:
+                    throw new AssertionError("Unsupported hashed entry type: " + type.name());
+            }
+        }
+
+        private void emit(String name, HashedEntry mismatchEntry, HashedEntry extraEntry) {
+            if (pending == null) {
+                add(name, mismatchEntry, extraEntry);
+                return;
+            }
+            pending.add(new Pending(name, null, mismatchEntry, extraEntry));
+        }
+
+        private void add(String name, HashedEntry mismatchEntry, HashedEntry extraEntry) {
+            if (mismatchEntry != null) {
+                mismatch.add(name, mismatchEntry);
+            }
+            if (extraEntry != null) {
+                extra.add(name, extraEntry);
+            }
+        }
+
+        private void add(String name, DiffTask task) {
+            if (!task.mismatch.isEmpty()) {
+                mismatch.add(name, task.mismatch);
+            }
+            if (task.extraEnabled && !task.extra.isEmpty()) {
+                extra.add(name, task.extra);
+            }
+        }
+
+        private boolean shouldUpdate(String name) {
+            if (matcher == null) {
+                return true;
+            }
+            path.add(name);
+            boolean shouldUpdate = matcher.shouldUpdate(path);
+            path.removeLast();
+            return shouldUpdate;
+        }
+    }
+
+    private static final class Pending {
+        private final String name;
+        private final DiffTask task;
+        private final HashedEntry mismatch;
+        private final HashedEntry extra;
+
+        private Pending(String name, DiffTask task, HashedEntry mismatch, HashedEntry extra) {
+            this.name = name;
+            this.task = task;
+            this.mismatch = mismatch;
+            this.extra = extra;
+        }
+    }
+
+    private final class EntriesMap extends AbstractMap<String, HashedEntry> {
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public Set<Entry<String, HashedEntry>> entrySet() {
+            return new AbstractSet<Entry<String, HashedEntry>>() {
+                @Override
+                public Iterator<Entry<String, HashedEntry>> iterator() {
+                    return new Iterator<Entry<String, HashedEntry>>() {
+                        private int index;
+
+                        @Override
+                        public boolean hasNext() {
+                            return index < count;
+                        }
+
+                        @Override
+                        public Entry<String, HashedEntry> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            Entry<String, HashedEntry> entry = new SimpleImmutableEntry<>(names[index], entries[index]);
+                            index++;
+                            return entry;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return count;
+                }
+            };
+        }
+
+        @Override
+        public HashedEntry get(Object key) {
+            return key instanceof String ? getEntry((String) key) : null;
+        }
+
+        @Override
+        public int size() {
+            return count;
+        }
+    }
+
     public static final class Diff {
         @LauncherAPI
         public final HashedDir mismatch;
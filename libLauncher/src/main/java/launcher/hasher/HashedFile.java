@@ -1,8 +1,9 @@
 package launcher.hasher;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
-import java.util.Arrays;
+import java.security.MessageDigest;
 
 import launcher.LauncherAPI;
 import launcher.helper.IOHelper;
@@ -15,15 +16,39 @@ import launcher.serialize.HOutput;
 public final class HashedFile extends HashedEntry {
     public static final DigestAlgorithm DIGEST_ALGO = DigestAlgorithm.MD5;
 
+    static {
+        // Digest is packed in two longs below, changing algorithm needs another layout
+        if (DIGEST_ALGO.bytes != Long.BYTES * 2) {
+            throw new AssertionError("Unsupported digest length: " + DIGEST_ALGO.bytes);
+        }
+    }
+
     // Instance
     @LauncherAPI
     public final long size;
-    private final byte[] digest;
+    private final boolean digested;
+    private final long digestHigh; // Digest packed in two longs, no separate array
+    private final long digestLow;
 
     @LauncherAPI
     public HashedFile(long size, byte[] digest) {
         this.size = VerifyHelper.verifyLong(size, VerifyHelper.L_NOT_NEGATIVE, "Illegal size: " + size);
-        this.digest = digest == null ? null : DIGEST_ALGO.verify(digest).clone();
+        digested = digest != null;
+        if (digested) {
+            ByteBuffer buffer = ByteBuffer.wrap(DIGEST_ALGO.verify(digest));
+            digestHigh = buffer.getLong();
+            digestLow = buffer.getLong();
+        } else {
+            digestHigh = 0L;
+            digestLow = 0L;
+        }
+    }
+
+    private HashedFile(long size, HInput input) throws IOException {
+        this.size = VerifyHelper.verifyLong(size, VerifyHelper.L_NOT_NEGATIVE, "Illegal size: " + size);
+        digested = input.readBoolean();
+        digestHigh = digested ? input.readLong() : 0L;
+        digestLow = digested ? input.readLong() : 0L;
     }
 
     @LauncherAPI
@@ -33,7 +58,7 @@ public final class HashedFile extends HashedEntry {
 
     @LauncherAPI
     public HashedFile(HInput input) throws IOException {
-        this(input.readVarLong(), input.readBoolean() ? input.readByteArray(-DIGEST_ALGO.bytes) : null);
+        this(input.readVarLong(), input);
     }
 
     @Override
@@ -49,15 +74,16 @@ public final class HashedFile extends HashedEntry {
     @Override
     public void write(HOutput output) throws IOException {
         output.writeVarLong(size);
-        output.writeBoolean(digest != null);
-        if (digest != null) {
-            output.writeByteArray(digest, -DIGEST_ALGO.bytes);
+        output.writeBoolean(digested);
+        if (digested) {
+            output.writeLong(digestHigh);
+            output.writeLong(digestLow);
         }
     }
 
     @LauncherAPI
     public boolean isSame(HashedFile o) {
-        return size == o.size && (digest == null || o.digest == null || Arrays.equals(digest, o.digest));
+        return size == o.size && (!digested || !o.digested || digestHigh == o.digestHigh && digestLow == o.digestLow);
     }
 
     @LauncherAPI
@@ -65,17 +91,31 @@ public final class HashedFile extends HashedEntry {
         if (size != IOHelper.readAttributes(file).size()) {
             return false;
         }
-        if (!digest || this.digest == null) {
+        if (!digest || !digested) {
             return true;
         }
 
         // Create digest
         byte[] actualDigest = SecurityHelper.digest(DIGEST_ALGO, file);
-        return Arrays.equals(this.digest, actualDigest);
+        return isSameDigest(actualDigest);
     }
 
     @LauncherAPI
     public boolean isSameDigest(byte[] digest) {
-        return this.digest == null || digest == null || Arrays.equals(this.digest, digest);
+        if (!digested || digest == null) {
+            return true;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(DIGEST_ALGO.verify(digest));
+        return buffer.getLong() == digestHigh && buffer.getLong() == digestLow;
+    }
+
+    void updateHash(MessageDigest digest) {
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES * 3 + 1);
+        buffer.putLong(size).put((byte) (digested ? 1 : 0)).putLong(digestHigh).putLong(digestLow);
+        digest.update(buffer.array());
+    }
+
+    int length() {
+        return HOutput.varLongLength(size) + 1 + (digested ? DIGEST_ALGO.bytes : 0);
     }
 }
@@ -1,6 +1,8 @@
 package launcher.helper;
 
 import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.ByteArrayOutputStream;
@@ -308,6 +310,12 @@ public final class IOHelper {
         return Files.newInputStream(file, READ_OPTIONS);
     }
 
+    @LauncherAPI
+    public static InputStream newInput(Socket socket) throws IOException {
+        // Buffered, so small protocol fields don't each hit the socket
+        return new BufferedInputStream(socket.getInputStream(), BUFFER_SIZE);
+    }
+
     @LauncherAPI
     public static OutputStream newOutput(Path file) throws IOException {
         return newOutput(file, false);
@@ -319,6 +327,12 @@ public final class IOHelper {
         return Files.newOutputStream(file, append ? APPEND_OPTIONS : WRITE_OPTIONS);
     }
 
+    @LauncherAPI
+    public static OutputStream newOutput(Socket socket) throws IOException {
+        // Buffered, callers must flush before waiting for reply
+        return new BufferedOutputStream(socket.getOutputStream(), BUFFER_SIZE);
+    }
+
     @LauncherAPI
     public static BufferedReader newReader(InputStream input) {
         return newReader(input, UNICODE_CHARSET);
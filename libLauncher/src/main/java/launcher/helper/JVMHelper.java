@@ -33,6 +33,8 @@ public final class JVMHelper {
     @LauncherAPI
     public static final int JVM_BITS = Integer.parseInt(System.getProperty("sun.arch.data.model"));
     @LauncherAPI
+    public static final int JVM_VERSION = getJVMVersion();
+    @LauncherAPI
     public static final int RAM = getRAMAmount();
     @LauncherAPI
     public static final SecurityManager SECURITY_MANAGER = System.getSecurityManager();
@@ -128,6 +130,15 @@ public final class JVMHelper {
         return System.getProperty("os.arch").contains("64") ? 64 : 32;
     }
 
+    private static int getJVMVersion() {
+        // "1.8" before Java 9, feature version ("13", "17") after
+        String version = System.getProperty("java.specification.version");
+        if (version.startsWith("1.")) {
+            version = version.substring(2);
+        }
+        return Integer.parseInt(version);
+    }
+
     private static int getRAMAmount() {
         // TODO Normal fix.
         int physicalRam = (int) (((com.sun.management.OperatingSystemMXBean) OPERATING_SYSTEM_MXBEAN).getTotalPhysicalMemorySize() >> 20);
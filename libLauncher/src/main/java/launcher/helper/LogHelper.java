@@ -8,12 +8,17 @@ import java.io.Writer;
 import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import launcher.Launcher;
 import launcher.LauncherAPI;
@@ -29,7 +34,18 @@ public final class LogHelper {
     @LauncherAPI
     public static final String NO_JANSI_PROPERTY = "launcher.noJAnsi";
     @LauncherAPI
+    public static final String ASYNC_PROPERTY = "launcher.logAsync";
+    @LauncherAPI
     public static final boolean JANSI;
+    @LauncherAPI
+    public static final boolean ASYNC = Boolean.parseBoolean(System.getProperty(ASYNC_PROPERTY, Boolean.toString(false)));
+    @LauncherAPI
+    public static final int ASYNC_BUFFER_SIZE = VerifyHelper.verifyInt(
+            Integer.parseUnsignedInt(System.getProperty("launcher.logBufferSize", Integer.toString(8192))),
+            VerifyHelper.POSITIVE, "launcher.logBufferSize can't be <= 0");
+    @LauncherAPI
+    public static final boolean ASYNC_DROP = VerifyHelper.verify(System.getProperty("launcher.logOverflow", "block"),
+            p -> p.equals("block") || p.equals("drop"), "launcher.logOverflow must be 'block' or 'drop'").equals("drop");
 
     // Output settings
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy.MM.dd HH:mm:ss", Locale.US);
@@ -37,6 +53,12 @@ public final class LogHelper {
     private static final Set<Output> OUTPUTS = Collections.newSetFromMap(new ConcurrentHashMap<>(2));
     private static final Output STD_OUTPUT;
 
+    // Async writer
+    private static final BlockingQueue<Entry> QUEUE = ASYNC ? new ArrayBlockingQueue<>(ASYNC_BUFFER_SIZE) : null;
+    private static final AtomicLong DROPPED = new AtomicLong(0L);
+    private static final Thread WRITER;
+    private static volatile boolean writerStopped = false;
+
     private LogHelper() {
     }
 
@@ -68,7 +90,9 @@ public final class LogHelper {
 
     @LauncherAPI
     public static void debug(String format, Object... args) {
-        debug(String.format(format, args));
+        if (isDebugEnabled()) {
+            log(Level.DEBUG, String.format(format, args), false);
+        }
     }
 
     @LauncherAPI
@@ -108,9 +132,7 @@ public final class LogHelper {
 
     @LauncherAPI
     public static void log(Level level, String message, boolean sub) {
-        String dateTime = DATE_TIME_FORMATTER.format(LocalDateTime.now());
-        println(JANSI ? ansiFormatLog(level, dateTime, message, sub) :
-                formatLog(level, message, dateTime, sub));
+        submit(new Entry(level, LocalDateTime.now(), message, sub));
     }
 
     @LauncherAPI
@@ -119,10 +141,8 @@ public final class LogHelper {
     }
 
     @LauncherAPI
-    public static synchronized void println(String message) {
-        for (Output output : OUTPUTS) {
-            output.println(message);
-        }
+    public static void println(String message) {
+        submit(new Entry(null, null, message, false));
     }
 
     @LauncherAPI
@@ -144,7 +164,9 @@ public final class LogHelper {
 
     @LauncherAPI
     public static void subDebug(String format, Object... args) {
-        subDebug(String.format(format, args));
+        if (isDebugEnabled()) {
+            log(Level.DEBUG, String.format(format, args), true);
+        }
     }
 
     @LauncherAPI
@@ -253,6 +275,111 @@ public final class LogHelper {
         return String.format("sashok724's %s v%s (build #%s) mod by Gravit", product, Launcher.VERSION, Launcher.BUILD);
     }
 
+    private static void stopWriter() {
+        // Further messages are written synchronously
+        writerStopped = true;
+        WRITER.interrupt();
+        try {
+            WRITER.join(1000L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Write everything left after writer exit
+        flushQueue();
+    }
+
+    private static void flushQueue() {
+        List<Entry> entries = new ArrayList<>(QUEUE.size());
+        synchronized (LogHelper.class) {
+            drain(entries);
+            write(entries);
+        }
+    }
+
+    private static void drain(List<Entry> entries) {
+        QUEUE.drainTo(entries);
+        long dropped = DROPPED.getAndSet(0L);
+        if (dropped > 0) {
+            entries.add(new Entry(Level.WARNING, LocalDateTime.now(), String.format("%d log messages were dropped", dropped), false));
+        }
+    }
+
+    private static void submit(Entry entry) {
+        if (!ASYNC || writerStopped || Thread.currentThread() == WRITER) {
+            write(Collections.singletonList(entry));
+            return;
+        }
+
+        // Enqueue to writer thread
+        if (ASYNC_DROP) {
+            if (!QUEUE.offer(entry)) {
+                DROPPED.incrementAndGet();
+            } else if (writerStopped) {
+                flushQueue();
+            }
+            return;
+        }
+        try {
+            QUEUE.put(entry);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            write(Collections.singletonList(entry));
+            return;
+        }
+
+        // Writer could stop after our check, don't leave entry in queue
+        if (writerStopped) {
+            flushQueue();
+        }
+    }
+
+    private static synchronized void write(List<Entry> entries) {
+        for (Entry entry : entries) {
+            String message = entry.format();
+            for (Output output : OUTPUTS) {
+                try {
+                    output.println(message);
+                } catch (RuntimeException ignored) {
+                    // Broken output shouldn't break other outputs
+                }
+            }
+        }
+
+        // Flush once per batch
+        for (Output output : OUTPUTS) {
+            try {
+                output.flush();
+            } catch (RuntimeException ignored) {
+                // Do nothing?
+            }
+        }
+    }
+
+    private static void writeLoop() {
+        List<Entry> entries = new ArrayList<>(256);
+        try {
+            while (!writerStopped) {
+                try {
+                    entries.add(QUEUE.take());
+                } catch (InterruptedException ignored) {
+                    continue; // Only stopWriter() can stop us
+                }
+
+                // Write all available entries at once
+                synchronized (LogHelper.class) {
+                    drain(entries);
+                    write(entries);
+                }
+                entries.clear();
+            }
+        } finally {
+            // Switch to synchronous writes if writer died for any reason
+            writerStopped = true;
+            flushQueue();
+        }
+    }
+
     static {
         // Use JAnsi if available
         boolean jansi;
@@ -269,6 +396,15 @@ public final class LogHelper {
         }
         JANSI = jansi;
 
+        // Start async writer
+        if (ASYNC) {
+            WRITER = CommonHelper.newThread("Log Writer", true, LogHelper::writeLoop);
+            WRITER.start();
+            Runtime.getRuntime().addShutdownHook(CommonHelper.newThread(null, false, LogHelper::stopWriter));
+        } else {
+            WRITER = null;
+        }
+
         // Add std writer
         STD_OUTPUT = System.out::println;
         addOutput(STD_OUTPUT);
@@ -288,6 +424,10 @@ public final class LogHelper {
     @FunctionalInterface
     public interface Output {
         void println(String message);
+
+        default void flush() {
+            // Do nothing
+        }
     }
 
     @LauncherAPI
@@ -305,6 +445,28 @@ public final class LogHelper {
         }
     }
 
+    private static final class Entry {
+        private final Level level;
+        private final LocalDateTime time;
+        private final String message;
+        private final boolean sub;
+
+        private Entry(Level level, LocalDateTime time, String message, boolean sub) {
+            this.level = level;
+            this.time = time;
+            this.message = message;
+            this.sub = sub;
+        }
+
+        private String format() {
+            if (level == null) { // Plain println
+                return message;
+            }
+            String dateTime = DATE_TIME_FORMATTER.format(time);
+            return JANSI ? ansiFormatLog(level, dateTime, message, sub) : formatLog(level, message, dateTime, sub);
+        }
+    }
+
     private static final class JAnsiOutput extends WriterOutput {
         private JAnsiOutput(OutputStream output) {
             super(IOHelper.newWriter(new AnsiOutputStream(output)));
@@ -324,13 +486,22 @@ public final class LogHelper {
         }
 
         @Override
-        public void println(String message) {
+        public void flush() {
             try {
-                writer.write(message + System.lineSeparator());
                 writer.flush();
             } catch (IOException ignored) {
                 // Do nothing?
             }
         }
+
+        @Override
+        public void println(String message) {
+            try {
+                writer.write(message);
+                writer.write(System.lineSeparator());
+            } catch (IOException ignored) {
+                // Do nothing?
+            }
+        }
     }
 }
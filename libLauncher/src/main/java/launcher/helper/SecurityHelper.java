@@ -25,7 +25,9 @@ import java.security.spec.X509EncodedKeySpec;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Random;
+import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
+import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.NoSuchPaddingException;
 
 import launcher.LauncherAPI;
@@ -59,6 +61,11 @@ public final class SecurityHelper {
     @LauncherAPI
     public static final SecureRandom secureRandom = new SecureRandom();
 
+    // Per-thread cached crypto instances (reinit is more expensive than the instance itself)
+    private static final ThreadLocal<KeyedInstance<Cipher>> RSA_DECRYPT_CIPHER = new ThreadLocal<>();
+    private static final ThreadLocal<KeyedInstance<Signature>> RSA_SIGN_SIGNATURE = new ThreadLocal<>();
+    private static final ThreadLocal<KeyedInstance<Signature>> RSA_VERIFY_SIGNATURE = new ThreadLocal<>();
+
     // Random generator constants
     private static final char[] VOWELS = {'e', 'u', 'i', 'o', 'a'};
     private static final char[] CONS = {'r', 't', 'p', 's', 'd', 'f', 'g', 'h', 'k', 'l', 'c', 'v', 'b', 'n', 'm'};
@@ -139,13 +146,32 @@ public final class SecurityHelper {
 
     @LauncherAPI
     public static boolean isValidSign(byte[] bytes, byte[] sign, RSAPublicKey publicKey) throws SignatureException {
-        Signature signature = newRSAVerifySignature(publicKey);
+        Signature signature = getCached(RSA_VERIFY_SIGNATURE, publicKey);
+        boolean cached = signature != null;
+        if (!cached) {
+            signature = newRSAVerifySignature(publicKey);
+        }
+        boolean valid;
+        boolean done = false;
         try {
-            signature.update(bytes);
-        } catch (SignatureException e) {
-            throw new InternalError(e);
+            try {
+                signature.update(bytes);
+            } catch (SignatureException e) {
+                throw new InternalError(e);
+            }
+            valid = signature.verify(sign);
+            done = true;
+        } finally {
+            if (!done) { // Don't reuse instance in broken state
+                RSA_VERIFY_SIGNATURE.remove();
+            }
         }
-        return signature.verify(sign);
+
+        // Signature is reset by verify, so it may be cached
+        if (!cached) {
+            RSA_VERIFY_SIGNATURE.set(new KeyedInstance<>(publicKey, signature));
+        }
+        return valid;
     }
 
     @LauncherAPI
@@ -177,6 +203,31 @@ public final class SecurityHelper {
         }
     }
 
+    @LauncherAPI
+    public static byte[] decryptRSA(byte[] bytes, RSAPrivateKey key) throws IllegalBlockSizeException, BadPaddingException {
+        Cipher cipher = getCached(RSA_DECRYPT_CIPHER, key);
+        boolean cached = cipher != null;
+        if (!cached) {
+            cipher = newRSADecryptCipher(key);
+        }
+        byte[] result;
+        boolean done = false;
+        try {
+            result = cipher.doFinal(bytes);
+            done = true;
+        } finally {
+            if (!done) { // Don't reuse instance in broken state
+                RSA_DECRYPT_CIPHER.remove();
+            }
+        }
+
+        // Cipher is reset by doFinal, so it may be cached
+        if (!cached) {
+            RSA_DECRYPT_CIPHER.set(new KeyedInstance<>(key, cipher));
+        }
+        return result;
+    }
+
     @LauncherAPI
     public static Cipher newRSADecryptCipher(RSAPrivateKey key) {
         return newRSACipher(Cipher.DECRYPT_MODE, key);
@@ -326,13 +377,30 @@ public final class SecurityHelper {
 
     @LauncherAPI
     public static byte[] sign(byte[] bytes, RSAPrivateKey privateKey) {
-        Signature signature = newRSASignSignature(privateKey);
+        Signature signature = getCached(RSA_SIGN_SIGNATURE, privateKey);
+        boolean cached = signature != null;
+        if (!cached) {
+            signature = newRSASignSignature(privateKey);
+        }
+        byte[] sign;
+        boolean done = false;
         try {
             signature.update(bytes);
-            return signature.sign();
+            sign = signature.sign();
+            done = true;
         } catch (SignatureException e) {
             throw new InternalError(e);
+        } finally {
+            if (!done) { // Don't reuse instance in broken state
+                RSA_SIGN_SIGNATURE.remove();
+            }
         }
+
+        // Signature is reset by sign, so it may be cached
+        if (!cached) {
+            RSA_SIGN_SIGNATURE.set(new KeyedInstance<>(privateKey, signature));
+        }
+        return sign;
     }
 
     @LauncherAPI
@@ -405,6 +473,11 @@ public final class SecurityHelper {
         return VerifyHelper.verify(token, SecurityHelper::isValidToken, String.format("Invalid token: '%s'", token));
     }
 
+    private static <T> T getCached(ThreadLocal<KeyedInstance<T>> cache, RSAKey key) {
+        KeyedInstance<T> cached = cache.get();
+        return cached != null && cached.key == key ? cached.instance : null;
+    }
+
     private static Cipher newCipher(String algo) {
         // IDK Why, but collapsing catch blocks makes ProGuard generate invalid stackmap
         try {
@@ -451,6 +524,16 @@ public final class SecurityHelper {
         }
     }
 
+    private static final class KeyedInstance<T> {
+        private final RSAKey key;
+        private final T instance;
+
+        private KeyedInstance(RSAKey key, T instance) {
+            this.key = key;
+            this.instance = instance;
+        }
+    }
+
     @LauncherAPI
     public enum DigestAlgorithm {
         PLAIN("plain", -1), MD5("MD5", 128), SHA1("SHA-1", 160), SHA224("SHA-224", 224), SHA256("SHA-256", 256), SHA512("SHA-512", 512);
@@ -3,10 +3,13 @@ package launcher.profiles;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 import launcher.LauncherAPI;
 import launcher.hasher.FileNameMatcher;
+import launcher.helper.CommonHelper;
 import launcher.helper.IOHelper;
 import launcher.helper.VerifyHelper;
 import launcher.serialize.HInput;
@@ -50,6 +53,7 @@ ClientProfile extends ConfigObject implements Comparable<ClientProfile> {
     private final ListConfigEntry classPath;
     private final ListConfigEntry clientArgs;
     private final ListConfigEntry whitelist;
+    private final Set<String> whitelistSet;
 
     @LauncherAPI
     public ClientProfile(BlockConfigEntry block) {
@@ -78,6 +82,10 @@ ClientProfile extends ConfigObject implements Comparable<ClientProfile> {
         jvmArgs = block.getEntry("jvmArgs", ListConfigEntry.class);
         clientArgs = block.getEntry("clientArgs", ListConfigEntry.class);
         whitelist = block.getEntry("whitelist", ListConfigEntry.class);
+
+        // Compile whitelist (case-insensitive)
+        whitelistSet = new HashSet<>(whitelist.getValue().size() * 4 / 3 + 1);
+        whitelist.stream(StringConfigEntry.class).map(CommonHelper::low).forEach(whitelistSet::add);
     }
 
     @LauncherAPI
@@ -128,12 +136,8 @@ ClientProfile extends ConfigObject implements Comparable<ClientProfile> {
         return jvmArgs.stream(StringConfigEntry.class).toArray(String[]::new);
     }
     @LauncherAPI
-    public boolean isWhitelistContains(String username)
-    {
-        if(!useWhitelist.getValue()) return true;
-        else {
-            return whitelist.stream(StringConfigEntry.class).anyMatch(e -> e.equals(username));
-        }
+    public boolean isWhitelistContains(String username) {
+        return !useWhitelist.getValue() || whitelistSet.contains(CommonHelper.low(username));
     }
 
     @LauncherAPI
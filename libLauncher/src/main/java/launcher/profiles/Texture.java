@@ -30,19 +30,18 @@ public final class Texture extends StreamObject {
 
     @LauncherAPI
     public Texture(String url, boolean cloak) throws IOException {
-        this.url = IOHelper.verifyURL(url);
+        this(url, fetch(url), cloak);
+    }
 
-        // Fetch texture
-        byte[] texture;
-        try (InputStream input = IOHelper.newInput(new URL(url))) {
-            texture = IOHelper.read(input);
-        }
+    @LauncherAPI
+    public Texture(String url, byte[] texture, boolean cloak) throws IOException {
+        this.url = IOHelper.verifyURL(url);
         try (ByteArrayInputStream input = new ByteArrayInputStream(texture)) {
             IOHelper.readTexture(input, cloak); // Verify texture
         }
 
-        // Get digest of texture
-        digest = SecurityHelper.digest(DIGEST_ALGO, new URL(url));
+        // Get digest of already fetched texture
+        digest = SecurityHelper.digest(DIGEST_ALGO, texture);
     }
 
     @LauncherAPI
@@ -51,6 +50,12 @@ public final class Texture extends StreamObject {
         digest = input.readByteArray(-DIGEST_ALGO.bytes);
     }
 
+    private static byte[] fetch(String url) throws IOException {
+        try (InputStream input = IOHelper.newInput(new URL(IOHelper.verifyURL(url)))) {
+            return IOHelper.read(input);
+        }
+    }
+
     @Override
     public void write(HOutput output) throws IOException {
         output.writeASCII(url, 2048);
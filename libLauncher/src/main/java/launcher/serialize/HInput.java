@@ -5,6 +5,7 @@ import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -12,17 +13,33 @@ import launcher.LauncherAPI;
 import launcher.helper.IOHelper;
 
 public final class HInput implements AutoCloseable {
+    private static final int MAX_STRING_BUFFER = 8192;
     @LauncherAPI
     public final InputStream stream;
+    private final byte[] buffer = new byte[Long.BYTES];
+    private byte[] stringBuffer; // Reused for strings read from stream
+
+    // Backing array (for zero-copy slices)
+    private final byte[] bytes;
+    private final int end;
 
     @LauncherAPI
     public HInput(InputStream stream) {
         this.stream = Objects.requireNonNull(stream, "stream");
+        bytes = null;
+        end = 0;
     }
 
     @LauncherAPI
     public HInput(byte[] bytes) {
-        stream = new ByteArrayInputStream(bytes);
+        this(bytes, 0, bytes.length);
+    }
+
+    @LauncherAPI
+    public HInput(byte[] bytes, int offset, int length) {
+        stream = new ByteArrayInputStream(bytes, offset, length);
+        this.bytes = bytes;
+        end = offset + length;
     }
 
     @Override
@@ -60,9 +77,27 @@ public final class HInput implements AutoCloseable {
         return bytes;
     }
 
+    @LauncherAPI
+    public ByteBuffer readByteBuffer(int max) throws IOException {
+        int length = readLength(max);
+        if (bytes == null) {
+            byte[] bytes = new byte[length];
+            IOHelper.read(stream, bytes);
+            return ByteBuffer.wrap(bytes);
+        }
+
+        // Slice backing array instead of copying
+        int offset = end - stream.available();
+        if (stream.skip(length) != length) {
+            throw new EOFException(String.format("%d bytes remaining", length - (end - offset)));
+        }
+        return ByteBuffer.wrap(bytes, offset, length).slice();
+    }
+
     @LauncherAPI
     public int readInt() throws IOException {
-        return (readUnsignedByte() << 24) + (readUnsignedByte() << 16) + (readUnsignedByte() << 8) + readUnsignedByte();
+        readFully(Integer.BYTES);
+        return getInt(0);
     }
 
     @LauncherAPI
@@ -75,17 +110,37 @@ public final class HInput implements AutoCloseable {
 
     @LauncherAPI
     public long readLong() throws IOException {
-        return (long) readInt() << 32 | readInt() & 0xFFFFFFFFL;
+        readFully(Long.BYTES);
+        return (long) getInt(0) << 32 | getInt(Integer.BYTES) & 0xFFFFFFFFL;
     }
 
     @LauncherAPI
     public short readShort() throws IOException {
-        return (short) ((readUnsignedByte() << 8) + readUnsignedByte());
+        readFully(Short.BYTES);
+        return (short) ((buffer[0] & 0xFF) << 8 | buffer[1] & 0xFF);
     }
 
     @LauncherAPI
     public String readString(int maxBytes) throws IOException {
-        return IOHelper.decode(readByteArray(maxBytes));
+        int length = readLength(maxBytes);
+        if (bytes != null) { // Decode from backing array directly
+            int offset = end - stream.available();
+            if (stream.skip(length) != length) {
+                throw new EOFException(String.format("%d bytes remaining", length - (end - offset)));
+            }
+            return new String(bytes, offset, length, IOHelper.UNICODE_CHARSET);
+        }
+
+        // Read into reused buffer (don't keep huge ones)
+        byte[] stringBytes = stringBuffer;
+        if (stringBytes == null || stringBytes.length < length) {
+            stringBytes = new byte[Math.max(length, 64)];
+            if (length <= MAX_STRING_BUFFER) {
+                stringBuffer = stringBytes;
+            }
+        }
+        readFully(stringBytes, length);
+        return new String(stringBytes, 0, length, IOHelper.UNICODE_CHARSET);
     }
 
     @LauncherAPI
@@ -136,4 +191,25 @@ public final class HInput implements AutoCloseable {
         }
         throw new IOException("VarLong too big");
     }
+
+    private int getInt(int offset) {
+        return (buffer[offset] & 0xFF) << 24 | (buffer[offset + 1] & 0xFF) << 16 |
+                (buffer[offset + 2] & 0xFF) << 8 | buffer[offset + 3] & 0xFF;
+    }
+
+    private void readFully(int length) throws IOException {
+        // Read fixed-size field in one go instead of byte-by-byte
+        readFully(buffer, length);
+    }
+
+    private void readFully(byte[] buffer, int length) throws IOException {
+        int offset = 0;
+        while (offset < length) {
+            int read = stream.read(buffer, offset, length - offset);
+            if (read < 0) {
+                throw new EOFException(String.format("%d bytes remaining", length - offset));
+            }
+            offset += read;
+        }
+    }
 }
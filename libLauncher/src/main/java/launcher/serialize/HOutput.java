@@ -4,6 +4,11 @@ import java.io.Flushable;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -11,8 +16,14 @@ import launcher.LauncherAPI;
 import launcher.helper.IOHelper;
 
 public final class HOutput implements AutoCloseable, Flushable {
+    private static final int MAX_STRING_BUFFER = 8192;
     @LauncherAPI
     public final OutputStream stream;
+    private final byte[] buffer = new byte[10]; // Enough for VarLong
+
+    // Reused for string encoding
+    private CharsetEncoder encoder;
+    private ByteBuffer stringBuffer;
 
     @LauncherAPI
     public HOutput(OutputStream stream) {
@@ -50,12 +61,25 @@ public final class HOutput implements AutoCloseable, Flushable {
         stream.write(bytes);
     }
 
+    @LauncherAPI
+    public void writeByteBuffer(ByteBuffer buffer, int max) throws IOException {
+        int length = buffer.remaining();
+        writeLength(length, max);
+        if (buffer.hasArray()) {
+            stream.write(buffer.array(), buffer.arrayOffset() + buffer.position(), length);
+            return;
+        }
+
+        // Not array-backed, copy
+        byte[] bytes = new byte[length];
+        buffer.duplicate().get(bytes);
+        stream.write(bytes);
+    }
+
     @LauncherAPI
     public void writeInt(int i) throws IOException {
-        writeUnsignedByte(i >>> 24 & 0xFF);
-        writeUnsignedByte(i >>> 16 & 0xFF);
-        writeUnsignedByte(i >>> 8 & 0xFF);
-        writeUnsignedByte(i & 0xFF);
+        putInt(0, i);
+        stream.write(buffer, 0, Integer.BYTES);
     }
 
     @LauncherAPI
@@ -68,19 +92,45 @@ public final class HOutput implements AutoCloseable, Flushable {
 
     @LauncherAPI
     public void writeLong(long l) throws IOException {
-        writeInt((int) (l >> 32));
-        writeInt((int) l);
+        putInt(0, (int) (l >> 32));
+        putInt(Integer.BYTES, (int) l);
+        stream.write(buffer, 0, Long.BYTES);
     }
 
     @LauncherAPI
     public void writeShort(short s) throws IOException {
-        writeUnsignedByte(s >>> 8 & 0xFF);
-        writeUnsignedByte(s & 0xFF);
+        buffer[0] = (byte) (s >>> 8);
+        buffer[1] = (byte) s;
+        stream.write(buffer, 0, Short.BYTES);
     }
 
     @LauncherAPI
     public void writeString(String s, int maxBytes) throws IOException {
-        writeByteArray(IOHelper.encode(s), maxBytes);
+        if (encoder == null) { // Replace malformed chars, same as String.getBytes()
+            encoder = IOHelper.UNICODE_CHARSET.newEncoder();
+            encoder.onMalformedInput(CodingErrorAction.REPLACE);
+            encoder.onUnmappableCharacter(CodingErrorAction.REPLACE);
+        }
+
+        // Encode into reused buffer (don't keep huge ones)
+        int capacity = (int) (s.length() * encoder.maxBytesPerChar());
+        ByteBuffer output = stringBuffer;
+        if (output == null || output.capacity() < capacity) {
+            output = ByteBuffer.allocate(Math.max(capacity, 64));
+            if (capacity <= MAX_STRING_BUFFER) {
+                stringBuffer = output;
+            }
+        }
+        output.clear();
+        encoder.reset();
+        CoderResult result = encoder.encode(CharBuffer.wrap(s), output, true);
+        if (!result.isUnderflow() || !(result = encoder.flush(output)).isUnderflow()) {
+            result.throwException();
+        }
+
+        // Write length-prefixed bytes
+        writeLength(output.position(), maxBytes);
+        stream.write(output.array(), 0, output.position());
     }
 
     @LauncherAPI
@@ -96,19 +146,50 @@ public final class HOutput implements AutoCloseable, Flushable {
 
     @LauncherAPI
     public void writeVarInt(int i) throws IOException {
+        int length = 0;
         while ((i & ~0x7FL) != 0) {
-            writeUnsignedByte(i & 0x7F | 0x80);
+            buffer[length++] = (byte) (i & 0x7F | 0x80);
             i >>>= 7;
         }
-        writeUnsignedByte(i);
+        buffer[length++] = (byte) i;
+        stream.write(buffer, 0, length);
     }
 
     @LauncherAPI
     public void writeVarLong(long l) throws IOException {
+        int length = 0;
+        while ((l & ~0x7FL) != 0) {
+            buffer[length++] = (byte) ((int) l & 0x7F | 0x80);
+            l >>>= 7;
+        }
+        buffer[length++] = (byte) l;
+        stream.write(buffer, 0, length);
+    }
+
+    private void putInt(int offset, int i) {
+        buffer[offset] = (byte) (i >>> 24);
+        buffer[offset + 1] = (byte) (i >>> 16);
+        buffer[offset + 2] = (byte) (i >>> 8);
+        buffer[offset + 3] = (byte) i;
+    }
+
+    @LauncherAPI
+    public static int varIntLength(int i) {
+        int length = 1;
+        while ((i & ~0x7FL) != 0) {
+            i >>>= 7;
+            length++;
+        }
+        return length;
+    }
+
+    @LauncherAPI
+    public static int varLongLength(long l) {
+        int length = 1;
         while ((l & ~0x7FL) != 0) {
-            writeUnsignedByte((int) l & 0x7F | 0x80);
             l >>>= 7;
+            length++;
         }
-        writeUnsignedByte((int) l);
+        return length;
     }
 }
@@ -1,14 +1,15 @@
 package launcher.serialize.config;
 
 import java.io.IOException;
-import java.io.LineNumberReader;
 import java.io.Reader;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 import launcher.LauncherAPI;
+import launcher.helper.IOHelper;
 import launcher.helper.VerifyHelper;
 import launcher.serialize.config.entry.BlockConfigEntry;
 import launcher.serialize.config.entry.BooleanConfigEntry;
@@ -18,23 +19,41 @@ import launcher.serialize.config.entry.ListConfigEntry;
 import launcher.serialize.config.entry.StringConfigEntry;
 
 public final class TextConfigReader {
-    private final LineNumberReader reader;
+    private final char[] chars;
+    private final int length;
     private final boolean ro;
     private String skipped;
     private int ch = -1;
+    private int pos = 0; // Next char position
 
-    private TextConfigReader(Reader reader, boolean ro) {
-        this.reader = new LineNumberReader(reader);
-        this.reader.setLineNumber(1);
+    private TextConfigReader(char[] chars, int length, boolean ro) {
+        this.chars = chars;
+        this.length = length;
         this.ro = ro;
     }
 
+    private int getLineNumber() {
+        // Count line terminators of read chars (computed only on error)
+        int line = 1;
+        for (int i = 0; i < pos; i++) {
+            if (chars[i] == '\n') {
+                line++;
+            }
+        }
+        return line;
+    }
+
+    private int getPosition() {
+        // Position of current char (or end of config)
+        return ch >= 0 ? pos - 1 : pos;
+    }
+
     private IOException newIOException(String message) {
-        return new IOException(message + " (line " + reader.getLineNumber() + ')');
+        return new IOException(message + " (line " + getLineNumber() + ')');
     }
 
     private int nextChar(boolean eof) throws IOException {
-        ch = reader.read();
+        ch = pos < length ? chars[pos++] : -1;
         if (eof && ch < 0) {
             throw newIOException("Unexpected end of config");
         }
@@ -158,9 +177,20 @@ public final class TextConfigReader {
     }
 
     private ConfigEntry<?> readString(int cc) throws IOException {
-        StringBuilder builder = new StringBuilder();
+        // Fast path: no escapes, take string as is
+        int start = pos;
+        int end = start;
+        while (end < length && chars[end] != '"' && chars[end] != '\\' && chars[end] != '\r' && chars[end] != '\n') {
+            end++;
+        }
+        if (end < length && chars[end] == '"') {
+            pos = end + 1;
+            nextChar(false);
+            return new StringConfigEntry(new String(chars, start, end - start), ro, cc);
+        }
 
         // Read string chars
+        StringBuilder builder = new StringBuilder(end - start + 16);
         while (nextChar(true) != '"') {
             switch (ch) {
                 case '\r':
@@ -205,43 +235,63 @@ public final class TextConfigReader {
 
     private String readToken() throws IOException {
         // Read token
-        StringBuilder builder = new StringBuilder();
+        int start = getPosition();
         while (VerifyHelper.isValidIDNameChar(ch)) {
-            builder.append((char) ch);
             nextChar(false);
         }
 
         // Return token as string
-        String token = builder.toString();
-        if (token.isEmpty()) {
+        int end = getPosition();
+        if (end == start) {
             throw newIOException("Not a token");
         }
-        return token;
+        return new String(chars, start, end - start);
     }
 
-    private void skipComment(StringBuilder skippedBuilder, boolean eof) throws IOException {
+    private void skipComment(boolean eof) throws IOException {
         while (ch >= 0 && ch != '\r' && ch != '\n') {
-            skippedBuilder.append((char) ch);
             nextChar(eof);
         }
     }
 
     private int skipWhitespace(boolean eof) throws IOException {
-        StringBuilder skippedBuilder = new StringBuilder();
+        int start = getPosition();
         while (Character.isWhitespace(ch) || ch == '#') {
             if (ch == '#') {
-                skipComment(skippedBuilder, eof);
+                skipComment(eof);
                 continue;
             }
-            skippedBuilder.append((char) ch);
             nextChar(eof);
         }
-        skipped = skippedBuilder.toString();
+        int end = getPosition();
+        skipped = end == start ? "" : new String(chars, start, end - start);
         return ch;
     }
 
     @LauncherAPI
     public static BlockConfigEntry read(Reader reader, boolean ro) throws IOException {
-        return new TextConfigReader(reader, ro).readBlock(0);
+        // Read whole config, it's parsed from memory
+        char[] chars = new char[IOHelper.BUFFER_SIZE];
+        int length = 0;
+        for (int read = reader.read(chars); read >= 0; read = reader.read(chars, length, chars.length - length)) {
+            length += read;
+            if (length == chars.length) {
+                chars = Arrays.copyOf(chars, chars.length << 1);
+            }
+        }
+
+        // Compress line terminators to '\n' (as LineNumberReader did)
+        int compressed = 0;
+        for (int i = 0; i < length; i++) {
+            char c = chars[i];
+            if (c == '\r') {
+                c = '\n';
+                if (i + 1 < length && chars[i + 1] == '\n') {
+                    i++;
+                }
+            }
+            chars[compressed++] = c;
+        }
+        return new TextConfigReader(chars, compressed, ro).readBlock(0);
     }
 }
@@ -17,7 +17,8 @@ public class SignedBytesHolder extends StreamObject {
 
     @LauncherAPI
     public SignedBytesHolder(HInput input, RSAPublicKey publicKey) throws IOException, SignatureException {
-        this(input.readByteArray(0), input.readByteArray(-SecurityHelper.RSA_KEY_LENGTH), publicKey);
+        this(input.readByteArray(0), input.readByteArray(-SecurityHelper.RSA_KEY_LENGTH));
+        SecurityHelper.verifySign(bytes, sign, publicKey); // Freshly read, no need to clone
     }
 
     @LauncherAPI
@@ -33,6 +34,17 @@ public class SignedBytesHolder extends StreamObject {
         sign = SecurityHelper.sign(bytes, privateKey);
     }
 
+    protected SignedBytesHolder(byte[] bytes, byte[] sign) {
+        // Takes ownership, caller must not modify arrays
+        this.bytes = bytes;
+        this.sign = sign;
+    }
+
+    @Override
+    public int sizeHint() {
+        return HOutput.varIntLength(bytes.length) + bytes.length + sign.length;
+    }
+
     @Override
     public final void write(HOutput output) throws IOException {
         output.writeByteArray(bytes, 0);
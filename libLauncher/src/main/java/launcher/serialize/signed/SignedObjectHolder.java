@@ -6,6 +6,7 @@ import java.security.interfaces.RSAPrivateKey;
 import java.security.interfaces.RSAPublicKey;
 
 import launcher.LauncherAPI;
+import launcher.helper.SecurityHelper;
 import launcher.serialize.HInput;
 import launcher.serialize.stream.StreamObject;
 
@@ -21,7 +22,11 @@ public final class SignedObjectHolder<O extends StreamObject> extends SignedByte
 
     @LauncherAPI
     public SignedObjectHolder(O object, RSAPrivateKey privateKey) throws IOException {
-        super(object.write(), privateKey);
+        this(object, object.write(), privateKey);
+    }
+
+    private SignedObjectHolder(O object, byte[] bytes, RSAPrivateKey privateKey) {
+        super(bytes, SecurityHelper.sign(bytes, privateKey)); // Fresh array, no need to clone
         this.object = object;
     }
 
@@ -0,0 +1,117 @@
+package launcher.serialize.stream;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import launcher.LauncherAPI;
+import launcher.helper.IOHelper;
+import launcher.helper.VerifyHelper;
+
+public final class ByteBufferOutputStream extends OutputStream {
+    @LauncherAPI
+    public static final int MAX_POOLED_CAPACITY = VerifyHelper.verifyInt(
+            Integer.parseUnsignedInt(System.getProperty("launcher.serialize.maxPooledCapacity", Integer.toString(1 << 16))),
+            VerifyHelper.NOT_NEGATIVE, "launcher.serialize.maxPooledCapacity can't be < 0");
+    private static final ThreadLocal<ByteBufferOutputStream> POOL =
+            ThreadLocal.withInitial(() -> new ByteBufferOutputStream(IOHelper.BUFFER_SIZE, true));
+
+    // Instance
+    private final boolean pooled;
+    private ByteBuffer buffer;
+    private boolean acquired;
+
+    @LauncherAPI
+    public ByteBufferOutputStream(int capacity) {
+        this(capacity, false);
+    }
+
+    private ByteBufferOutputStream(int capacity, boolean pooled) {
+        buffer = ByteBuffer.allocate(VerifyHelper.verifyInt(capacity, VerifyHelper.NOT_NEGATIVE, "Capacity can't be < 0"));
+        this.pooled = pooled;
+    }
+
+    @Override
+    public void write(int b) {
+        ensureRemaining(1);
+        buffer.put((byte) b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        ensureRemaining(len);
+        buffer.put(b, off, len);
+    }
+
+    @LauncherAPI
+    public ByteBuffer getBuffer() {
+        // Read-only view of written bytes, no copy
+        ByteBuffer view = buffer.asReadOnlyBuffer();
+        view.flip();
+        return view;
+    }
+
+    @LauncherAPI
+    public void reset() {
+        buffer.clear();
+    }
+
+    @LauncherAPI
+    public int size() {
+        return buffer.position();
+    }
+
+    @LauncherAPI
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    @LauncherAPI
+    public byte[] takeByteArray() {
+        if (pooled || buffer.position() != buffer.capacity()) {
+            return toByteArray();
+        }
+
+        // Exactly filled, hand over backing array without copy
+        byte[] bytes = buffer.array();
+        buffer = ByteBuffer.allocate(0);
+        return bytes;
+    }
+
+    @LauncherAPI
+    public void release() {
+        acquired = false;
+        if (pooled && buffer.capacity() > MAX_POOLED_CAPACITY) {
+            buffer = ByteBuffer.allocate(IOHelper.BUFFER_SIZE); // Don't keep huge buffers per thread
+        }
+    }
+
+    private void ensureRemaining(int length) {
+        if (buffer.remaining() >= length) {
+            return;
+        }
+
+        // Grow buffer
+        int required = buffer.position() + length;
+        if (required < 0) {
+            throw new OutOfMemoryError("Buffer size exceeds int range");
+        }
+        int capacity = Math.max(required, buffer.capacity() << 1);
+        if (capacity < 0) {
+            capacity = Integer.MAX_VALUE;
+        }
+        buffer.flip();
+        buffer = ByteBuffer.allocate(capacity).put(buffer);
+    }
+
+    @LauncherAPI
+    public static ByteBufferOutputStream acquire() {
+        ByteBufferOutputStream output = POOL.get();
+        if (output.acquired) { // Nested serialization, don't share
+            return new ByteBufferOutputStream(IOHelper.BUFFER_SIZE);
+        }
+        output.acquired = true;
+        output.reset();
+        return output;
+    }
+}
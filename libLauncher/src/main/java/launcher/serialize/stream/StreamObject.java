@@ -1,10 +1,8 @@
 package launcher.serialize.stream;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 
 import launcher.LauncherAPI;
-import launcher.helper.IOHelper;
 import launcher.serialize.HInput;
 import launcher.serialize.HOutput;
 
@@ -14,16 +12,35 @@ public abstract class StreamObject {
     @LauncherAPI
     public abstract void write(HOutput output) throws IOException;
 
+    @LauncherAPI
+    public int sizeHint() {
+        return -1; // Unknown
+    }
+
     @LauncherAPI
     public final byte[] write() throws IOException {
-        try (ByteArrayOutputStream array = IOHelper.newByteArrayOutput()) {
-            try (HOutput output = new HOutput(array)) {
-                write(output);
-            }
-            return array.toByteArray();
+        int sizeHint = sizeHint();
+        if (sizeHint >= 0) { // Serialize to exact-size array, no final copy
+            ByteBufferOutputStream buffer = new ByteBufferOutputStream(sizeHint);
+            write(buffer);
+            return buffer.takeByteArray();
+        }
+
+        // Unknown size, use pooled buffer
+        ByteBufferOutputStream buffer = ByteBufferOutputStream.acquire();
+        try {
+            write(buffer);
+            return buffer.toByteArray();
+        } finally {
+            buffer.release();
         }
     }
 
+    @LauncherAPI
+    public final void write(ByteBufferOutputStream buffer) throws IOException {
+        write(new HOutput(buffer));
+    }
+
     @FunctionalInterface
     public interface Adapter<O extends StreamObject> {
         @LauncherAPI